@@ -1,13 +1,58 @@
 package com.streamix.catalog.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
+
+    /**
+     * RestTemplate used by TmdbClient: pooled keep-alive connections with connect and
+     * read timeouts. Retries are left to TmdbClient, which knows which failures are safe
+     * to repeat.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient tmdbHttpClient(
+            @Value("${tmdb.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${tmdb.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${tmdb.http.max-connections:50}") int maxConnections,
+            @Value("${tmdb.http.max-connections-per-route:20}") int maxConnectionsPerRoute) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient tmdbHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(tmdbHttpClient));
     }
-}
\ No newline at end of file
+}
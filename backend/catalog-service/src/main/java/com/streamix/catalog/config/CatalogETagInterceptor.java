@@ -0,0 +1,43 @@
+package com.streamix.catalog.config;
+
+import com.streamix.catalog.controller.CatalogRevisioned;
+import com.streamix.catalog.event.CatalogRevision;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Conditional GETs for {@link CatalogRevisioned} endpoints: sets ETag and Cache-Control,
+ * and answers a matching If-None-Match with 304 without invoking the handler.
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private final CatalogRevision catalogRevision;
+    private final String cacheControl;
+
+    public CatalogETagInterceptor(CatalogRevision catalogRevision,
+            @Value("${catalog.http.max-age:60s}") Duration maxAge) {
+        this.catalogRevision = catalogRevision;
+        this.cacheControl = CacheControl.maxAge(maxAge).mustRevalidate().getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(CatalogRevisioned.class)) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        // Sets the ETag header, and the 304 status when If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(catalogRevision.etag());
+    }
+}
@@ -0,0 +1,34 @@
+package com.streamix.catalog.config;
+
+import com.streamix.catalog.repository.CatalogIndexManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog index verification at /actuator/health/catalogIndexes.
+ * DOWN when a catalog index could not be created or a hot query's winning plan is a
+ * collection scan; the winning plan of every checked query is listed in the details.
+ */
+@Component("catalogIndexes")
+@RequiredArgsConstructor
+public class CatalogIndexHealthIndicator implements HealthIndicator {
+
+    private final CatalogIndexManager indexManager;
+
+    @Override
+    public Health health() {
+        CatalogIndexManager.Report report = indexManager.report();
+        Health.Builder health = report.healthy() ? Health.up() : Health.down();
+        health.withDetail("checkedAt", report.checkedAt())
+                .withDetail("plans", report.plans());
+        if (!report.collectionScans().isEmpty()) {
+            health.withDetail("collectionScans", report.collectionScans());
+        }
+        if (!report.failedIndexes().isEmpty()) {
+            health.withDetail("failedIndexes", report.failedIndexes());
+        }
+        return health.build();
+    }
+}
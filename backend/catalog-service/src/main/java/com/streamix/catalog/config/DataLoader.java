@@ -1,13 +1,46 @@
 package com.streamix.catalog.config;
 
+import com.streamix.catalog.repository.CatalogIndexManager;
 import com.streamix.catalog.service.MovieService;
 import com.streamix.catalog.service.TVShowService;
+import com.streamix.catalog.snapshot.CatalogSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Initial catalog load (indexes, snapshot seed, genres, movies, TV shows), run once per
+ * start on a background thread. With a snapshot file configured, an empty database is
+ * seeded from it first and the TMDB steps below find their collections populated. The
+ * service registers and serves whatever Mongo already holds while it runs; progress is
+ * exposed through {@link InitialLoadHealthIndicator} rather than by holding back
+ * readiness.
+ */
 @Component
-public class DataLoader implements CommandLineRunner {
+public class DataLoader {
+
+    // FAILED: finished, but at least one step failed (see Progress.errors)
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Where the load is; errors maps each failed step to its error message
+     */
+    public record Progress(State state, String step, int stepsCompleted, int totalSteps,
+            LocalDateTime startedAt, LocalDateTime finishedAt, Map<String, String> errors) {
+    }
+
+    private record Step(String name, Runnable action) {
+    }
 
     @Autowired
     private MovieService movieService;
@@ -15,19 +48,60 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private TVShowService tvShowService;
 
-    @Override
-    public void run(String... args) {
-        System.out.println("\n=== CATALOG SERVICE STARTUP ===\n");
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    @Autowired
+    private CatalogIndexManager indexManager;
+
+    private volatile Progress progress = new Progress(State.PENDING, null, 0, 5, null, null, Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInitialLoad() {
+        Thread loader = new Thread(this::run, "catalog-initial-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public Progress progress() {
+        return progress;
+    }
 
-        // Load genres first (needed for categorization)
-        movieService.loadGenres();
+    private void run() {
+        System.out.println("\n=== CATALOG INITIAL LOAD STARTED (serving existing data meanwhile) ===\n");
 
-        // Load movies (500+ items)
-        movieService.loadInitialMovies();
+        List<Step> steps = List.of(
+                // Create missing catalog indexes before the bulk writes, then explain the hot queries
+                new Step("indexes", indexManager::ensureAndVerify),
+                // Seed empty collections from a snapshot file, if one is configured
+                new Step("snapshot", snapshotService::seedIfEmpty),
+                // Genres first (needed for categorization)
+                new Step("genres", movieService::loadGenres),
+                // Movies (500+ items); only fetched when the collection is empty
+                new Step("movies", movieService::loadInitialMovies),
+                // TV shows (500+ items)
+                new Step("tvShows", tvShowService::loadInitialTVShows));
 
-        // Load TV shows (500+ items)
-        tvShowService.loadInitialTVShows();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            progress = new Progress(State.RUNNING, step.name(), i, steps.size(), startedAt, null, Map.copyOf(errors));
+            try {
+                step.action().run();
+            } catch (Exception e) {
+                // Later steps do not depend on this one succeeding (e.g. a failed snapshot
+                // seed still leaves movies and TV shows to load from TMDB), so carry on
+                System.err.println("STARTUP WARNING: Initial " + step.name() + " load failed: " + e.getMessage());
+                errors.put(step.name(), String.valueOf(e.getMessage()));
+            }
+        }
 
-        System.out.println("\n=== CATALOG SERVICE READY ===\n");
+        State state = errors.isEmpty() ? State.COMPLETED : State.FAILED;
+        progress = new Progress(state, null, steps.size(), steps.size(), startedAt, LocalDateTime.now(),
+                Collections.unmodifiableMap(errors));
+        System.out.println("\n=== CATALOG INITIAL LOAD " + state + " in "
+                + Duration.between(startedAt, LocalDateTime.now()).toSeconds() + "s"
+                + (errors.isEmpty() ? "" : " (failed steps: " + errors.keySet() + ")") + " ===\n");
     }
 }
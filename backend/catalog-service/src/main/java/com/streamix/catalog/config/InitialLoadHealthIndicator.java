@@ -0,0 +1,45 @@
+package com.streamix.catalog.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the background initial load at /actuator/health/initialLoad: UP once it
+ * completed, OUT_OF_SERVICE while it is pending or running and DOWN when a step failed.
+ * It is not part of the readiness or liveness groups, so deploys never wait on TMDB
+ * and the service keeps answering from what is already stored.
+ */
+@Component("initialLoad")
+@RequiredArgsConstructor
+public class InitialLoadHealthIndicator implements HealthIndicator {
+
+    private final DataLoader dataLoader;
+
+    @Override
+    public Health health() {
+        DataLoader.Progress progress = dataLoader.progress();
+        Health.Builder health = switch (progress.state()) {
+            case COMPLETED -> Health.up();
+            case FAILED -> Health.down();
+            case PENDING, RUNNING -> Health.outOfService();
+        };
+        health.withDetail("state", progress.state())
+                .withDetail("stepsCompleted", progress.stepsCompleted())
+                .withDetail("totalSteps", progress.totalSteps());
+        if (progress.step() != null) {
+            health.withDetail("step", progress.step());
+        }
+        if (progress.startedAt() != null) {
+            health.withDetail("startedAt", progress.startedAt());
+        }
+        if (progress.finishedAt() != null) {
+            health.withDetail("finishedAt", progress.finishedAt());
+        }
+        if (!progress.errors().isEmpty()) {
+            health.withDetail("failedSteps", progress.errors());
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.streamix.catalog.controller;
+
+import com.streamix.catalog.service.SearchResultCache;
+import com.streamix.catalog.tmdb.TmdbCircuitBreaker;
+import com.streamix.catalog.tmdb.TmdbClient;
+import com.streamix.catalog.tmdb.TmdbDetailCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/catalog/stats")
+public class CacheStatsController {
+
+    @Autowired
+    private TmdbDetailCache detailCache;
+
+    @Autowired
+    private TmdbClient tmdbClient;
+
+    @Autowired
+    private TmdbCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private SearchResultCache searchCache;
+
+    /**
+     * Hit/miss/eviction counters and size of the TMDB detail cache
+     */
+    @GetMapping("/tmdb-cache")
+    public TmdbDetailCache.Stats getTmdbCacheStats() {
+        return detailCache.stats();
+    }
+
+    /**
+     * Outbound TMDB calls made, and requests that shared an identical in-flight call
+     */
+    @GetMapping("/tmdb-client")
+    public TmdbClient.Stats getTmdbClientStats() {
+        return tmdbClient.stats();
+    }
+
+    /**
+     * TMDB circuit state, how often it opened and how many calls it refused
+     */
+    @GetMapping("/tmdb-circuit")
+    public TmdbCircuitBreaker.Stats getTmdbCircuitStats() {
+        return circuitBreaker.stats();
+    }
+
+    /**
+     * Search result cache hits (positive and negative), misses and invalidations
+     */
+    @GetMapping("/search-cache")
+    public SearchResultCache.Stats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+}
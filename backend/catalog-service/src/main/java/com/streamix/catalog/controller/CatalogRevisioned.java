@@ -0,0 +1,17 @@
+package com.streamix.catalog.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response depends only on catalog data in Mongo or the
+ * in-memory indexes. It is served with the catalog revision as its ETag, and a
+ * matching If-None-Match is answered with 304 before the handler runs. Endpoints that
+ * pass TMDB responses through must not carry it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogRevisioned {
+}
@@ -0,0 +1,31 @@
+package com.streamix.catalog.controller;
+
+import com.streamix.catalog.snapshot.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/catalog/snapshot")
+public class CatalogSnapshotController {
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+
+    /**
+     * Write the catalog to catalog.snapshot.path for seeding other environments
+     */
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, Long>> exportSnapshot() throws IOException {
+        try {
+            return ResponseEntity.ok(snapshotService.export());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
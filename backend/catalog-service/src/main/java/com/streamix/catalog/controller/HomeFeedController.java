@@ -0,0 +1,44 @@
+package com.streamix.catalog.controller;
+
+import com.streamix.catalog.dto.HomeFeed;
+import com.streamix.catalog.service.HomeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+
+@RestController
+@RequestMapping("/catalog")
+public class HomeFeedController {
+
+    @Autowired
+    private HomeFeedService homeFeedService;
+
+    @Value("${catalog.http.max-age:60s}")
+    private Duration maxAge;
+
+    /**
+     * All dashboard rows and genres in one response.
+     * The feed is rebuilt shortly after catalog writes rather than with them, so its
+     * ETag comes from the build time instead of the catalog revision.
+     */
+    @GetMapping("/home")
+    public ResponseEntity<HomeFeed> getHomeFeed(WebRequest request) {
+        HomeFeed feed = homeFeedService.current();
+        String etag = "\"home-" + Long.toString(feed.getGeneratedAt().toInstant(ZoneOffset.UTC).toEpochMilli(), 36)
+                + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).mustRevalidate())
+                .body(feed);
+    }
+}
@@ -1,12 +1,21 @@
 package com.streamix.catalog.controller;
 
+import com.streamix.catalog.dto.CursorPage;
+import com.streamix.catalog.dto.TitleCard;
+import com.streamix.catalog.dto.TitleDetails;
+import com.streamix.catalog.dto.TitleSuggestion;
 import com.streamix.catalog.dto.TmdbCreditsResponse;
 import com.streamix.catalog.entity.Genre;
 import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.service.AutocompleteService;
+import com.streamix.catalog.service.CatalogChangeSync;
 import com.streamix.catalog.service.MovieService;
+import com.streamix.catalog.service.TitleDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,21 +26,76 @@ public class MovieController {
     @Autowired
     private MovieService service;
 
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private TitleDetailsService titleDetailsService;
+
+    @Autowired
+    private CatalogChangeSync changeSync;
+
+    /**
+     * Every title as one JSON array, streamed from a Mongo cursor
+     */
+    @CatalogRevisioned
     @GetMapping("/all")
-    public List<Movie> getAllMovies() {
-        return service.getAllMovies();
+    public ResponseEntity<StreamingResponseBody> getAllMovies() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> service.writeAllMovies(out, false));
+    }
+
+    /**
+     * Keyset-paginated listing; follow nextCursor until it is null
+     */
+    @CatalogRevisioned
+    @GetMapping("/all/page")
+    public ResponseEntity<CursorPage<Movie>> getMoviePage(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(service.getMoviePage(after, Math.min(Math.max(limit, 1), 500)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Every title as newline-delimited JSON, one document per line
+     */
+    @CatalogRevisioned
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamMovies() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> service.writeAllMovies(out, true));
     }
 
+    @CatalogRevisioned
     @GetMapping("/category/{category}")
-    public List<Movie> getMoviesByCategory(@PathVariable String category) {
-        return service.getMoviesByCategory(category);
+    public List<?> getMoviesByCategory(@PathVariable String category, @RequestParam(defaultValue = "full") String view) {
+        return service.getMoviesByCategory(category, viewType(view));
     }
 
+    @CatalogRevisioned
     @GetMapping("/search")
-    public List<Movie> searchMovies(@RequestParam String query) {
-        return service.searchMovies(query);
+    public List<Movie> searchMovies(@RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return service.searchMovies(query, Math.max(page, 0), Math.min(Math.max(size, 1), 50));
     }
 
+    /**
+     * Typeahead suggestions across movies and TV shows
+     */
+    @CatalogRevisioned
+    @GetMapping("/autocomplete")
+    public List<TitleSuggestion> autocomplete(@RequestParam String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        return autocompleteService.suggest(query, limit);
+    }
+
+    @CatalogRevisioned
     @GetMapping("/{id}")
     public ResponseEntity<Movie> getMovieById(@PathVariable String id) {
         return service.getMovieById(id)
@@ -39,6 +103,7 @@ public class MovieController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @CatalogRevisioned
     @GetMapping("/tmdb/{tmdbId}")
     public ResponseEntity<Movie> getMovieByTmdbId(@PathVariable Integer tmdbId) {
         return service.getMovieByTmdbId(tmdbId)
@@ -56,6 +121,14 @@ public class MovieController {
         return service.getImages(tmdbId);
     }
 
+    /**
+     * Details, cast, images and videos in one response (one TMDB call at most)
+     */
+    @GetMapping("/{tmdbId}/full")
+    public TitleDetails getMovieFullDetails(@PathVariable Integer tmdbId) {
+        return titleDetailsService.getMovieDetails(tmdbId);
+    }
+
     @GetMapping("/{tmdbId}/videos")
     public java.util.Map<String, Object> getMovieVideos(@PathVariable Integer tmdbId) {
         return service.getVideos(tmdbId);
@@ -71,14 +144,18 @@ public class MovieController {
         return service.getGenresByType(type);
     }
 
+    @CatalogRevisioned
     @GetMapping("/popular")
-    public List<Movie> getPopularMovies() {
-        return service.getPopularMovies();
+    public List<?> getPopularMovies(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getPopularMovies(viewType(view), limit);
     }
 
+    @CatalogRevisioned
     @GetMapping("/top-rated")
-    public List<Movie> getTopRatedMovies() {
-        return service.getTopRatedMovies();
+    public List<?> getTopRatedMovies(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getTopRatedMovies(viewType(view), limit);
     }
 
     @GetMapping("/{tmdbId}/similar")
@@ -86,9 +163,11 @@ public class MovieController {
         return service.getSimilarMovies(tmdbId);
     }
 
+    @CatalogRevisioned
     @GetMapping("/trending")
-    public List<Movie> getTrendingMovies() {
-        return service.getTrendingMovies();
+    public List<?> getTrendingMovies(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getTrendingMovies(viewType(view), limit);
     }
 
     @GetMapping("/sync")
@@ -100,4 +179,23 @@ public class MovieController {
         }).start();
         return ResponseEntity.ok("Sync started in background");
     }
+
+    /**
+     * Manually run the incremental sync from the TMDB change feeds
+     */
+    @GetMapping("/sync/changes")
+    public ResponseEntity<String> syncChanges() {
+        new Thread(() -> {
+            changeSync.syncMovies();
+            changeSync.syncTVShows();
+        }).start();
+        return ResponseEntity.ok("Change sync started in background");
+    }
+
+    /**
+     * "card" projects list endpoints onto TitleCard; anything else returns full documents
+     */
+    private static Class<?> viewType(String view) {
+        return "card".equalsIgnoreCase(view) ? TitleCard.class : Movie.class;
+    }
 }
@@ -1,9 +1,18 @@
 package com.streamix.catalog.controller;
 
+import com.streamix.catalog.dto.CursorPage;
+import com.streamix.catalog.dto.TitleCard;
+import com.streamix.catalog.dto.TitleDetails;
+import com.streamix.catalog.dto.TitleSuggestion;
 import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.service.AutocompleteService;
 import com.streamix.catalog.service.TVShowService;
+import com.streamix.catalog.service.TitleDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,31 +23,88 @@ public class TVShowController {
     @Autowired
     private TVShowService service;
 
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private TitleDetailsService titleDetailsService;
+
+    /**
+     * Every title as one JSON array, streamed from a Mongo cursor
+     */
+    @CatalogRevisioned
     @GetMapping("/all")
-    public List<TVShow> getAllTVShows() {
-        return service.getAllTVShows();
+    public ResponseEntity<StreamingResponseBody> getAllTVShows() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> service.writeAllTVShows(out, false));
+    }
+
+    /**
+     * Keyset-paginated listing; follow nextCursor until it is null
+     */
+    @CatalogRevisioned
+    @GetMapping("/all/page")
+    public ResponseEntity<CursorPage<TVShow>> getTVShowPage(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(service.getTVShowPage(after, Math.min(Math.max(limit, 1), 500)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Every title as newline-delimited JSON, one document per line
+     */
+    @CatalogRevisioned
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamTVShows() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> service.writeAllTVShows(out, true));
     }
 
+    @CatalogRevisioned
     @GetMapping("/search")
-    public List<TVShow> searchTVShows(@RequestParam String query) {
-        return service.searchTVShows(query);
+    public List<TVShow> searchTVShows(@RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return service.searchTVShows(query, Math.max(page, 0), Math.min(Math.max(size, 1), 50));
+    }
+
+    /**
+     * Typeahead suggestions across movies and TV shows
+     */
+    @CatalogRevisioned
+    @GetMapping("/autocomplete")
+    public List<TitleSuggestion> autocomplete(@RequestParam String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        return autocompleteService.suggest(query, limit);
     }
 
+    @CatalogRevisioned
     @GetMapping("/popular")
-    public List<TVShow> getPopularTVShows() {
-        return service.getPopularTVShows();
+    public List<?> getPopularTVShows(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getPopularTVShows(viewType(view), limit);
     }
 
+    @CatalogRevisioned
     @GetMapping("/top-rated")
-    public List<TVShow> getTopRatedTVShows() {
-        return service.getTopRatedTVShows();
+    public List<?> getTopRatedTVShows(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getTopRatedTVShows(viewType(view), limit);
     }
 
+    @CatalogRevisioned
     @GetMapping("/trending")
-    public List<TVShow> getTrendingTVShows() {
-        return service.getTrendingTVShows();
+    public List<?> getTrendingTVShows(@RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "0") int limit) {
+        return service.getTrendingTVShows(viewType(view), limit);
     }
 
+    @CatalogRevisioned
     @GetMapping("/{id}")
     public org.springframework.http.ResponseEntity<TVShow> getTVShowById(@PathVariable String id) {
         return service.getTVShowById(id)
@@ -64,6 +130,15 @@ public class TVShowController {
                 : org.springframework.http.ResponseEntity.notFound().build();
     }
 
+    /**
+     * Details, cast, images, videos and optionally one season in one response
+     */
+    @GetMapping("/tmdb/{tmdbId}/full")
+    public TitleDetails getTVShowFullDetails(@PathVariable Integer tmdbId,
+            @RequestParam(required = false) Integer season) {
+        return titleDetailsService.getTVShowDetails(tmdbId, season);
+    }
+
     @GetMapping("/tmdb/{tmdbId}/season/{seasonNumber}")
     public org.springframework.http.ResponseEntity<Object> getTVShowSeasonDetailsFromTmdb(
             @PathVariable Integer tmdbId,
@@ -73,4 +148,11 @@ public class TVShowController {
                 ? org.springframework.http.ResponseEntity.ok(details)
                 : org.springframework.http.ResponseEntity.notFound().build();
     }
+
+    /**
+     * "card" projects list endpoints onto TitleCard; anything else returns full documents
+     */
+    private static Class<?> viewType(String view) {
+        return "card".equalsIgnoreCase(view) ? TitleCard.class : TVShow.class;
+    }
 }
@@ -0,0 +1,23 @@
+package com.streamix.catalog.dto;
+
+import com.streamix.catalog.entity.Genre;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard renders on load: each row truncated to the top N titles,
+ * plus the genre list
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HomeFeed {
+    private Map<String, List<?>> rows; // e.g. "trendingMovies" -> [Movie, ...], in display order
+    private List<Genre> genres;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,21 @@
+package com.streamix.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact view of a title for rows and grids. Used as a Mongo projection type,
+ * so only these fields are read from the database.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TitleCard {
+    private String id;
+    private Integer tmdbId;
+    private String title;
+    private String posterUrl;
+    private String type; // "movie" or "tv"
+    private Double voteAverage;
+}
@@ -0,0 +1,25 @@
+package com.streamix.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a detail page needs from TMDB, each part in the same shape as its
+ * standalone endpoint (/tmdb/{id}, /cast, /images, /videos, /season/{n})
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TitleDetails {
+    private Integer tmdbId;
+    private String type; // "movie" or "tv"
+    private Map<String, Object> details;
+    private List<TmdbCreditsResponse.CastMember> cast;
+    private Map<String, Object> images;
+    private Map<String, Object> videos;
+    private Object season; // Only when a season was requested (TV)
+}
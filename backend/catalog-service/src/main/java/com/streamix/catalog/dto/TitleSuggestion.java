@@ -0,0 +1,16 @@
+package com.streamix.catalog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TitleSuggestion {
+    private Integer tmdbId;
+    private String title;
+    private String type; // "movie" or "tv"
+    private String posterUrl;
+    private Double popularity;
+}
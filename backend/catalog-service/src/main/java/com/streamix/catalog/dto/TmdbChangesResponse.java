@@ -0,0 +1,24 @@
+package com.streamix.catalog.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of TMDB's /movie/changes or /tv/changes feed
+ */
+@Data
+public class TmdbChangesResponse {
+    private List<Change> results;
+    private Integer page;
+
+    @JsonProperty("total_pages")
+    private Integer totalPages;
+
+    @Data
+    public static class Change {
+        private Integer id; // TMDB ID of a title that changed in the window
+        private Boolean adult;
+    }
+}
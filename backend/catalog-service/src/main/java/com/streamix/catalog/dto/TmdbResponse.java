@@ -30,5 +30,13 @@ public class TmdbResponse { // Must be PUBLIC
 
         @JsonProperty("genre_ids")
         private List<Integer> genreIds;
+
+        // Detail responses (/movie/{id}, /tv/{id}) carry genre objects instead of genre_ids
+        @JsonProperty("genres")
+        public void setGenres(List<TmdbGenreResponse.GenreDto> genres) {
+            if (genres != null) {
+                genreIds = genres.stream().map(genre -> genre.getId().intValue()).toList();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -32,6 +32,14 @@ public class TmdbTVResponse {
         @JsonProperty("genre_ids")
         private List<Integer> genreIds;
 
+        // Detail responses (/movie/{id}, /tv/{id}) carry genre objects instead of genre_ids
+        @JsonProperty("genres")
+        public void setGenres(List<TmdbGenreResponse.GenreDto> genres) {
+            if (genres != null) {
+                genreIds = genres.stream().map(genre -> genre.getId().intValue()).toList();
+            }
+        }
+
         @JsonProperty("number_of_seasons")
         private Integer numberOfSeasons;
 
@@ -0,0 +1,26 @@
+package com.streamix.catalog.entity;
+
+import java.util.List;
+
+/**
+ * Fields shared by movies and TV shows that the in-memory catalog indexes work on.
+ * Implemented through the Lombok getters of {@link Movie} and {@link TVShow}.
+ */
+public interface CatalogTitle {
+
+    Integer getTmdbId();
+
+    String getTitle();
+
+    String getType();
+
+    String getPosterUrl();
+
+    String getOverview();
+
+    Double getPopularity();
+
+    Double getVoteAverage();
+
+    List<Integer> getGenreIds();
+}
@@ -0,0 +1,30 @@
+package com.streamix.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which generation of a category's membership readers currently see.
+ * Titles carry "category@generation" tags; switching activeGeneration flips
+ * every reader to the new membership in one single-document write.
+ */
+@Document(collection = "category_generations")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryGeneration {
+
+    @Id
+    private String category; // e.g. "Popular Movies"
+
+    private long lastGeneration; // Counter handed out to staging refreshes
+    private long activeGeneration; // 0 = never refreshed through staging
+    private long previousGeneration; // Kept tagged so readers with a stale view still resolve
+
+    private LocalDateTime activatedAt;
+}
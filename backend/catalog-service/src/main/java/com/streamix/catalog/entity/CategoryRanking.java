@@ -0,0 +1,29 @@
+package com.streamix.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A category's titles in TMDB's rank order, rebuilt on every refresh.
+ * Rank is the position in tmdbIds (0 = first), so a top-N row is a prefix.
+ */
+@Document(collection = "category_rankings")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryRanking {
+
+    @Id
+    private String category; // e.g. "Popular Movies"
+
+    private long generation; // Category generation the ranking was built for (0 = unstaged load)
+    private List<Integer> tmdbIds;
+
+    private LocalDateTime builtAt;
+}
@@ -3,6 +3,7 @@ package com.streamix.catalog.entity;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,7 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class Movie {
+public class Movie implements CatalogTitle {
 
     @Id
     private String id; // MongoDB uses String IDs by default
@@ -44,4 +45,6 @@ public class Movie {
     // NEW: Caching metadata
     private LocalDateTime cachedAt; // When this was cached
     private List<String> categories; // Which lists it belongs to (e.g., ["Popular Movies", "Top Rated Movies"])
+    @JsonIgnore // Internal to category staging; not part of the API
+    private List<String> generationTags; // Staged membership, e.g. ["Popular Movies@3"]
 }
@@ -0,0 +1,31 @@
+package com.streamix.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Precomputed top-K similar titles for one movie or TV show
+ */
+@Document(collection = "similar_titles")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SimilarTitles {
+
+    @Id
+    private String id; // "<type>:<tmdbId>", e.g. "movie:27205"
+
+    private String type; // "movie" or "tv"
+    private Integer tmdbId;
+
+    private List<Integer> similarTmdbIds; // Best match first
+    private List<Double> scores; // Parallel to similarTmdbIds
+
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,27 @@
+package com.streamix.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of an incremental sync from a TMDB change feed
+ */
+@Document(collection = "sync_state")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncState {
+
+    @Id
+    private String feed; // "movie" or "tv"
+
+    private LocalDateTime highWaterMark; // UTC; changes up to here have been applied
+    private LocalDateTime lastRunAt;
+    private int lastChanged; // Titles TMDB reported as changed in the last run
+    private int lastUpdated; // Of those, titles in our catalog that were updated
+}
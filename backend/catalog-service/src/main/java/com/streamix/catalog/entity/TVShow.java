@@ -1,5 +1,6 @@
 package com.streamix.catalog.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,7 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class TVShow {
+public class TVShow implements CatalogTitle {
 
     @Id
     private String id;
@@ -49,4 +50,6 @@ public class TVShow {
     // Caching metadata
     private LocalDateTime cachedAt;
     private List<String> categories;
+    @JsonIgnore // Internal to category staging; not part of the API
+    private List<String> generationTags; // Staged membership, e.g. ["Popular TV@3"]
 }
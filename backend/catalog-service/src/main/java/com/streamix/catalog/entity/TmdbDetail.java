@@ -0,0 +1,28 @@
+package com.streamix.catalog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last TMDB response for one detail resource, kept so restarts and TMDB outages
+ * don't send detail pages back to TMDB
+ */
+@Document(collection = "tmdb_details")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TmdbDetail {
+
+    @Id
+    private String id; // "<RESOURCE>:<key>", e.g. "VIDEOS:movie:27205"
+
+    private String resource; // TmdbDetailCache.Resource name
+    private Object payload; // Plain JSON tree (maps, lists, scalars)
+
+    private LocalDateTime fetchedAt;
+}
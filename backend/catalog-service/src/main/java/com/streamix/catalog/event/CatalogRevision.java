@@ -0,0 +1,82 @@
+package com.streamix.catalog.event;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Counter used as the ETag of catalog responses. Publishers advance it once their
+ * update event has been delivered, i.e. after Mongo and every in-memory index reflect
+ * the change, so a response built after reading the revision is never older than it.
+ * The counter is a document in catalog_revision shared by every replica, so they hand
+ * out the same ETag for the same data and pick up each other's writes; reads use a copy
+ * refreshed at most once per refresh interval, so a 304 normally costs no Mongo call.
+ */
+@Component
+public class CatalogRevision {
+
+    private static final String COLLECTION = "catalog_revision";
+    private static final String ID = "catalog";
+
+    private final MongoTemplate mongoTemplate;
+    private final long refreshNanos;
+
+    private volatile long revision;
+    private volatile long loadedAtNanos;
+    private volatile boolean loaded;
+
+    public CatalogRevision(MongoTemplate mongoTemplate,
+            @Value("${catalog.http.revision-refresh:2s}") Duration refresh) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    public long current() {
+        if (!loaded || System.nanoTime() - loadedAtNanos > refreshNanos) {
+            try {
+                Document stored = mongoTemplate.findById(ID, Document.class, COLLECTION);
+                remember(stored != null ? stored.get("revision", Number.class).longValue() : 0);
+            } catch (Exception e) {
+                // Keep answering with the last known revision; retried on the next read
+                System.err.println("Error reading catalog revision: " + e.getMessage());
+            }
+        }
+        return revision;
+    }
+
+    /**
+     * Strong ETag for the current revision
+     */
+    public String etag() {
+        return "\"" + Long.toString(current(), 36) + "\"";
+    }
+
+    public void advance() {
+        try {
+            Document advanced = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(ID)),
+                    new Update().inc("revision", 1L),
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    Document.class, COLLECTION);
+            remember(advanced.get("revision", Number.class).longValue());
+        } catch (Exception e) {
+            // Re-read on the next request instead of serving the old revision for a full interval
+            System.err.println("Error advancing catalog revision: " + e.getMessage());
+            loaded = false;
+        }
+    }
+
+    private synchronized void remember(long value) {
+        // Never go backwards, e.g. when a slow read races this replica's own advance
+        revision = Math.max(revision, value);
+        loadedAtNanos = System.nanoTime();
+        loaded = true;
+    }
+}
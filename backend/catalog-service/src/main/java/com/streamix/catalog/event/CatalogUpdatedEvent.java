@@ -0,0 +1,15 @@
+package com.streamix.catalog.event;
+
+import com.streamix.catalog.entity.CatalogTitle;
+
+import java.util.List;
+
+/**
+ * Published after titles were written to the catalog (or loaded at startup) so
+ * in-memory indexes can update incrementally.
+ *
+ * @param type   "movie" or "tv"
+ * @param titles the titles as written; only the fields TMDB provides are reliable
+ */
+public record CatalogUpdatedEvent(String type, List<? extends CatalogTitle> titles) {
+}
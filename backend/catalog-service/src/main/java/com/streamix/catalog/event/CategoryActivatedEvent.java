@@ -0,0 +1,7 @@
+package com.streamix.catalog.event;
+
+/**
+ * Published once a staged category generation becomes the one readers see
+ */
+public record CategoryActivatedEvent(String category, long generation) {
+}
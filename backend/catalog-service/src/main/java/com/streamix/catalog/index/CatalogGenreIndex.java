@@ -0,0 +1,29 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog-resident genre indexes for movies and TV shows, kept current by
+ * {@link CatalogUpdatedEvent}s from ingestion.
+ */
+@Component
+public class CatalogGenreIndex {
+
+    private final GenreIndex movies = new GenreIndex();
+    private final GenreIndex tvShows = new GenreIndex();
+
+    public GenreIndex movies() {
+        return movies;
+    }
+
+    public GenreIndex tvShows() {
+        return tvShows;
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        ("tv".equals(event.type()) ? tvShows : movies).upsertAll(event.titles());
+    }
+}
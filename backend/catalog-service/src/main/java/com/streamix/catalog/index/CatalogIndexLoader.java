@@ -0,0 +1,65 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.entity.CatalogTitle;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.event.CatalogRevision;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Warms every in-memory catalog index from Mongo on startup.
+ * Titles are streamed from a cursor and replayed as {@link CatalogUpdatedEvent}
+ * batches, the same path ingestion uses afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogRevision catalogRevision;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        int movies = replay(Movie.class, "movie");
+        int tvShows = replay(TVShow.class, "tv");
+        System.out.println("Catalog indexes loaded: " + movies + " movies, " + tvShows + " TV shows");
+    }
+
+    private <T extends CatalogTitle> int replay(Class<T> entityClass, String type) {
+        int total = 0;
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (Stream<T> titles = mongoTemplate.stream(new Query(), entityClass)) {
+            for (T title : (Iterable<T>) titles::iterator) {
+                batch.add(title);
+                if (batch.size() == BATCH_SIZE) {
+                    eventPublisher.publishEvent(new CatalogUpdatedEvent(type, batch));
+                    catalogRevision.advance();
+                    total += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogUpdatedEvent(type, batch));
+            catalogRevision.advance();
+            total += batch.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,45 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Title search indexes for movies and TV shows, kept current by
+ * {@link CatalogUpdatedEvent}s from ingestion.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private final TitleSearchIndex movies;
+    private final TitleSearchIndex tvShows;
+    private final boolean fuzzy;
+
+    public CatalogSearchIndex(@Value("${catalog.search.index-overviews:false}") boolean indexOverviews,
+            @Value("${catalog.search.fuzzy:true}") boolean fuzzy) {
+        this.movies = new TitleSearchIndex(indexOverviews);
+        this.tvShows = new TitleSearchIndex(indexOverviews);
+        this.fuzzy = fuzzy;
+    }
+
+    /**
+     * Whether searches tolerate typos by default
+     */
+    public boolean fuzzy() {
+        return fuzzy;
+    }
+
+    public TitleSearchIndex movies() {
+        return movies;
+    }
+
+    public TitleSearchIndex tvShows() {
+        return tvShows;
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        ("tv".equals(event.type()) ? tvShows : movies).upsertAll(event.titles());
+    }
+}
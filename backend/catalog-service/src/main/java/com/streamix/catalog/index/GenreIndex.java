@@ -0,0 +1,212 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.entity.CatalogTitle;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index from genre ID to the titles carrying it.
+ * Titles are addressed by dense ordinals; every postings list is a primitive int
+ * array pre-sorted by popularity (descending), so similar-title lookups merge only
+ * the lists of the title's own genres. Writers publish an immutable snapshot,
+ * readers never lock.
+ */
+public class GenreIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private volatile Snapshot snapshot = new Snapshot(0, NONE, new double[0], new int[0][], Map.of(), NONE,
+            new int[0][]);
+
+    private record Snapshot(int size, int[] tmdbIds, double[] popularity, int[][] genres,
+            Map<Integer, Integer> ordinals, int[] genreKeys, int[][] postings) {
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public boolean contains(Integer tmdbId) {
+        return snapshot.ordinals().containsKey(tmdbId);
+    }
+
+    /**
+     * Add or update titles; only the postings lists of genres they gained, lost or
+     * kept are rebuilt
+     */
+    public synchronized void upsertAll(Collection<? extends CatalogTitle> titles) {
+        Snapshot current = snapshot;
+        int capacity = current.size() + titles.size();
+
+        int[] tmdbIds = Arrays.copyOf(current.tmdbIds(), capacity);
+        double[] popularity = Arrays.copyOf(current.popularity(), capacity);
+        int[][] genres = Arrays.copyOf(current.genres(), capacity);
+        Map<Integer, Integer> ordinals = new HashMap<>(current.ordinals());
+        int size = current.size();
+
+        Set<Integer> changed = new HashSet<>();
+        Set<Integer> touchedGenres = new HashSet<>();
+
+        for (CatalogTitle title : titles) {
+            if (title.getTmdbId() == null) {
+                continue;
+            }
+
+            Integer ordinal = ordinals.get(title.getTmdbId());
+            if (ordinal == null) {
+                ordinal = size++;
+                ordinals.put(title.getTmdbId(), ordinal);
+                tmdbIds[ordinal] = title.getTmdbId();
+                genres[ordinal] = NONE;
+            }
+
+            for (int genre : genres[ordinal]) {
+                touchedGenres.add(genre);
+            }
+            genres[ordinal] = sortedUnique(title.getGenreIds());
+            for (int genre : genres[ordinal]) {
+                touchedGenres.add(genre);
+            }
+
+            popularity[ordinal] = title.getPopularity() != null ? title.getPopularity() : 0.0;
+            changed.add(ordinal);
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        TreeSet<Integer> keys = new TreeSet<>(touchedGenres);
+        for (int key : current.genreKeys()) {
+            keys.add(key);
+        }
+
+        int[] genreKeys = keys.stream().mapToInt(Integer::intValue).toArray();
+        int[][] postings = new int[genreKeys.length][];
+        for (int i = 0; i < genreKeys.length; i++) {
+            int previous = Arrays.binarySearch(current.genreKeys(), genreKeys[i]);
+            int[] base = previous >= 0 ? current.postings()[previous] : NONE;
+
+            postings[i] = touchedGenres.contains(genreKeys[i])
+                    ? rebuild(base, genreKeys[i], changed, genres, popularity)
+                    : base;
+        }
+
+        snapshot = new Snapshot(size, tmdbIds, popularity, genres, ordinals, genreKeys, postings);
+    }
+
+    /**
+     * TMDB IDs of the titles sharing the most genres with the given one, ties broken
+     * by popularity. Empty if the title is unknown or has no genres.
+     */
+    public int[] similar(Integer tmdbId, int limit) {
+        Snapshot s = snapshot;
+        Integer self = s.ordinals().get(tmdbId);
+        if (self == null || limit <= 0) {
+            return NONE;
+        }
+
+        int[] wanted = s.genres()[self];
+        int k = wanted.length;
+        if (k == 0) {
+            return NONE;
+        }
+
+        int[][] lists = new int[k][];
+        int[] heads = new int[k];
+        for (int i = 0; i < k; i++) {
+            int slot = Arrays.binarySearch(s.genreKeys(), wanted[i]);
+            lists[i] = slot >= 0 ? s.postings()[slot] : NONE;
+        }
+
+        // Buckets by overlap count; within a bucket candidates arrive in popularity order
+        int[][] buckets = new int[k + 1][limit];
+        int[] filled = new int[k + 1];
+
+        // All lists share one total order, so the same title is the head of every list
+        // containing it at the same step of the merge
+        while (filled[k] < limit) {
+            int best = -1;
+            for (int i = 0; i < k; i++) {
+                if (heads[i] < lists[i].length) {
+                    int candidate = lists[i][heads[i]];
+                    if (best < 0 || compare(candidate, best, s.popularity()) < 0) {
+                        best = candidate;
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+
+            int overlap = 0;
+            for (int i = 0; i < k; i++) {
+                if (heads[i] < lists[i].length && lists[i][heads[i]] == best) {
+                    heads[i]++;
+                    overlap++;
+                }
+            }
+
+            if (best != self && filled[overlap] < limit) {
+                buckets[overlap][filled[overlap]++] = best;
+            }
+        }
+
+        int[] result = new int[limit];
+        int n = 0;
+        for (int overlap = k; overlap >= 1 && n < limit; overlap--) {
+            for (int j = 0; j < filled[overlap] && n < limit; j++) {
+                result[n++] = s.tmdbIds()[buckets[overlap][j]];
+            }
+        }
+        return n == limit ? result : Arrays.copyOf(result, n);
+    }
+
+    // Popularity descending, ordinal ascending as a stable tie-break
+    private static int compare(int a, int b, double[] popularity) {
+        int byPopularity = Double.compare(popularity[b], popularity[a]);
+        return byPopularity != 0 ? byPopularity : Integer.compare(a, b);
+    }
+
+    private static int[] rebuild(int[] base, int genre, Set<Integer> changed, int[][] genres,
+            double[] popularity) {
+        int[] kept = Arrays.stream(base).filter(ordinal -> !changed.contains(ordinal)).toArray();
+        int[] added = changed.stream()
+                .filter(ordinal -> Arrays.binarySearch(genres[ordinal], genre) >= 0)
+                .sorted((a, b) -> compare(a, b, popularity))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] merged = new int[kept.length + added.length];
+        int i = 0, j = 0, n = 0;
+        while (i < kept.length && j < added.length) {
+            merged[n++] = compare(kept[i], added[j], popularity) <= 0 ? kept[i++] : added[j++];
+        }
+        while (i < kept.length) {
+            merged[n++] = kept[i++];
+        }
+        while (j < added.length) {
+            merged[n++] = added[j++];
+        }
+        return merged;
+    }
+
+    private static int[] sortedUnique(List<Integer> genreIds) {
+        if (genreIds == null || genreIds.isEmpty()) {
+            return NONE;
+        }
+        return genreIds.stream()
+                .filter(id -> id != null)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+}
@@ -0,0 +1,333 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.entity.CatalogTitle;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over normalized title tokens (and optionally overviews).
+ * Every query token must match a title or overview term, either exactly or as a
+ * prefix, so results narrow as the user types. In fuzzy mode a token with no such
+ * match falls back to title terms within a small edit distance, found through a
+ * trigram index over the term dictionary. Hits are ranked by idf-weighted matches,
+ * whole-title boosts and finally popularity.
+ */
+public class TitleSearchIndex {
+
+    private static final double EXACT_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final double OVERVIEW_WEIGHT = 0.3;
+    private static final double FUZZY_WEIGHT = 0.5;
+    private static final double EXACT_TITLE_BOOST = 5.0;
+    private static final double TITLE_PREFIX_BOOST = 2.0;
+    private static final double POPULARITY_WEIGHT = 0.1;
+    private static final double POPULARITY_SCALE = Math.log1p(1000);
+
+    // Bound the work a one-letter prefix can cause
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final boolean indexOverviews;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final TreeMap<String, Set<Integer>> titleTerms = new TreeMap<>();
+    private final Map<String, Set<Integer>> overviewTerms = new HashMap<>();
+    private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+
+    private record Doc(int tmdbId, String title, Set<String> titleTokens, Set<String> overviewTokens,
+            double popularity) {
+    }
+
+    private record Hit(int tmdbId, double score) {
+    }
+
+    public TitleSearchIndex(boolean indexOverviews) {
+        this.indexOverviews = indexOverviews;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or re-index titles
+     */
+    public void upsertAll(Collection<? extends CatalogTitle> titles) {
+        lock.writeLock().lock();
+        try {
+            for (CatalogTitle title : titles) {
+                if (title.getTmdbId() == null || title.getTitle() == null) {
+                    continue;
+                }
+
+                Doc previous = docs.remove(title.getTmdbId());
+                if (previous != null) {
+                    for (String removed : unlink(titleTerms, previous.titleTokens(), previous.tmdbId())) {
+                        for (String trigram : trigrams(removed)) {
+                            Set<String> terms = trigramTerms.get(trigram);
+                            if (terms != null && terms.remove(removed) && terms.isEmpty()) {
+                                trigramTerms.remove(trigram);
+                            }
+                        }
+                    }
+                    unlink(overviewTerms, previous.overviewTokens(), previous.tmdbId());
+                }
+
+                Doc doc = new Doc(
+                        title.getTmdbId(),
+                        TextNormalizer.normalize(title.getTitle()),
+                        new HashSet<>(TextNormalizer.tokens(title.getTitle())),
+                        indexOverviews ? new HashSet<>(TextNormalizer.tokens(title.getOverview())) : Set.of(),
+                        title.getPopularity() != null ? title.getPopularity() : 0.0);
+
+                docs.put(doc.tmdbId(), doc);
+                for (String added : link(titleTerms, doc.titleTokens(), doc.tmdbId())) {
+                    for (String trigram : trigrams(added)) {
+                        trigramTerms.computeIfAbsent(trigram, t -> new HashSet<>()).add(added);
+                    }
+                }
+                link(overviewTerms, doc.overviewTokens(), doc.tmdbId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Relevance-ranked TMDB IDs for a query, one page at a time (exact and prefix matches only)
+     */
+    public List<Integer> search(String query, int page, int size) {
+        return search(query, page, size, false);
+    }
+
+    /**
+     * Relevance-ranked TMDB IDs for a query, one page at a time; with fuzzy set, tokens
+     * without an exact or prefix match tolerate typos
+     */
+    public List<Integer> search(String query, int page, int size, boolean fuzzy) {
+        List<String> queryTokens = TextNormalizer.tokens(query);
+        if (queryTokens.isEmpty() || size <= 0 || page < 0) {
+            return List.of();
+        }
+        String normalizedQuery = String.join(" ", queryTokens);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+
+            for (String token : queryTokens) {
+                Map<Integer, Double> tokenScores = scoreToken(token);
+                if (tokenScores.isEmpty() && fuzzy) {
+                    tokenScores = scoreFuzzy(token);
+                }
+
+                // Every token has to match somewhere
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + tokenScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                Doc doc = docs.get(entry.getKey());
+                double score = entry.getValue();
+                if (doc.title().equals(normalizedQuery)) {
+                    score += EXACT_TITLE_BOOST;
+                } else if (doc.title().startsWith(normalizedQuery)) {
+                    score += TITLE_PREFIX_BOOST;
+                }
+                score += POPULARITY_WEIGHT * Math.min(1.0, Math.log1p(doc.popularity()) / POPULARITY_SCALE);
+                hits.add(new Hit(doc.tmdbId(), score));
+            }
+
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::tmdbId));
+
+            int from = Math.min(hits.size(), page * size);
+            int to = Math.min(hits.size(), from + size);
+            return hits.subList(from, to).stream().map(Hit::tmdbId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score per document for one query token across exact, prefix and overview matches
+     */
+    private Map<Integer, Double> scoreToken(String token) {
+        Map<Integer, Double> scores = new HashMap<>();
+
+        Set<Integer> exact = titleTerms.get(token);
+        if (exact != null) {
+            double weight = EXACT_WEIGHT * idf(exact.size());
+            for (Integer tmdbId : exact) {
+                scores.merge(tmdbId, weight, Math::max);
+            }
+        }
+
+        int expansions = 0;
+        for (Map.Entry<String, Set<Integer>> term : titleTerms.tailMap(token, false).entrySet()) {
+            if (!term.getKey().startsWith(token) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            double weight = PREFIX_WEIGHT * idf(term.getValue().size());
+            for (Integer tmdbId : term.getValue()) {
+                scores.merge(tmdbId, weight, Math::max);
+            }
+        }
+
+        Set<Integer> overview = overviewTerms.get(token);
+        if (overview != null) {
+            double weight = OVERVIEW_WEIGHT * idf(overview.size());
+            for (Integer tmdbId : overview) {
+                scores.merge(tmdbId, weight, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Title terms within the allowed edit distance of a misspelled token, scored
+     * lower the more edits they need
+     */
+    private Map<Integer, Double> scoreFuzzy(String token) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return scores;
+        }
+
+        // Each edit destroys at most three trigrams, so closer terms share at least this many
+        Set<String> queryTrigrams = trigrams(token);
+        int required = Math.max(1, queryTrigrams.size() - 3 * maxEdits);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String term : trigramTerms.getOrDefault(trigram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < required) {
+                continue;
+            }
+            int distance = editDistance(token, candidate.getKey(), maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+
+            Set<Integer> postings = titleTerms.get(candidate.getKey());
+            double weight = FUZZY_WEIGHT * idf(postings.size()) / (1 + distance);
+            for (Integer tmdbId : postings) {
+                scores.merge(tmdbId, weight, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    // Short tokens are too ambiguous to correct
+    private static int maxEdits(String token) {
+        if (token.length() <= 4) {
+            return 0;
+        }
+        return token.length() <= 8 ? 1 : 2;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "^" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions),
+     * giving up with max + 1 as soon as the bound is exceeded
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (double) docs.size() / documentFrequency);
+    }
+
+    /**
+     * @return terms that are new to the dictionary
+     */
+    private static List<String> link(Map<String, Set<Integer>> terms, Set<String> tokens, int tmdbId) {
+        List<String> added = new ArrayList<>();
+        for (String token : tokens) {
+            Set<Integer> postings = terms.get(token);
+            if (postings == null) {
+                postings = new HashSet<>();
+                terms.put(token, postings);
+                added.add(token);
+            }
+            postings.add(tmdbId);
+        }
+        return added;
+    }
+
+    /**
+     * @return terms that left the dictionary
+     */
+    private static List<String> unlink(Map<String, Set<Integer>> terms, Set<String> tokens, int tmdbId) {
+        List<String> removed = new ArrayList<>();
+        for (String token : tokens) {
+            Set<Integer> postings = terms.get(token);
+            if (postings != null && postings.remove(tmdbId) && postings.isEmpty()) {
+                terms.remove(token);
+                removed.add(token);
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,109 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.dto.TitleSuggestion;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie over normalized titles for typeahead.
+ * Each title is inserted under its full normalized form and under every word
+ * suffix ("dark knight", "knight"), and every node stores its own top-N
+ * suggestions by popularity, so a lookup is a walk down the query's characters.
+ * Rebuilt wholesale and swapped in by the owner; readers never see a partial trie.
+ */
+public final class TitleTrie {
+
+    public static final TitleTrie EMPTY = new TitleTrie(new Node(new char[0], new Node[0], new TitleSuggestion[0]));
+
+    private static final Comparator<TitleSuggestion> BY_POPULARITY = Comparator
+            .comparingDouble((TitleSuggestion s) -> s.getPopularity() != null ? s.getPopularity() : 0.0)
+            .reversed()
+            .thenComparing(TitleSuggestion::getTitle, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Node root;
+
+    private record Node(char[] keys, Node[] children, TitleSuggestion[] top) {
+
+        Node child(char key) {
+            int slot = Arrays.binarySearch(keys, key);
+            return slot >= 0 ? children[slot] : null;
+        }
+    }
+
+    private TitleTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Most popular titles whose normalized title, or one of its words, starts with the prefix
+     */
+    public List<TitleSuggestion> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Arrays.asList(node.top()).subList(0, Math.min(limit, node.top().length));
+    }
+
+    /**
+     * Build a trie keeping at most maxSuggestions per prefix
+     */
+    public static TitleTrie build(Collection<TitleSuggestion> suggestions, int maxSuggestions) {
+        Builder root = new Builder();
+
+        for (TitleSuggestion suggestion : suggestions) {
+            List<String> tokens = TextNormalizer.tokens(suggestion.getTitle());
+            for (int start = 0; start < tokens.size(); start++) {
+                String key = String.join(" ", tokens.subList(start, tokens.size()));
+                Builder node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+                }
+                node.terminal.add(suggestion);
+            }
+        }
+        return new TitleTrie(root.freeze(maxSuggestions));
+    }
+
+    private static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private final List<TitleSuggestion> terminal = new ArrayList<>();
+
+        // Bottom-up: a node's top-N is the best of its own titles and its children's top-N
+        private Node freeze(int maxSuggestions) {
+            char[] keys = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            List<TitleSuggestion> candidates = new ArrayList<>(terminal);
+
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze(maxSuggestions);
+                candidates.addAll(Arrays.asList(frozen[i].top()));
+                i++;
+            }
+
+            // The same title can reach a node through several word suffixes
+            candidates.sort(BY_POPULARITY);
+            Set<String> seen = new HashSet<>();
+            List<TitleSuggestion> top = new ArrayList<>(maxSuggestions);
+            for (TitleSuggestion candidate : candidates) {
+                if (top.size() == maxSuggestions) {
+                    break;
+                }
+                if (seen.add(candidate.getType() + ":" + candidate.getTmdbId())) {
+                    top.add(candidate);
+                }
+            }
+            return new Node(keys, frozen, top.toArray(new TitleSuggestion[0]));
+        }
+    }
+}
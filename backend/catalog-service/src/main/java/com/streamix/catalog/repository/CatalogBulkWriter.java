@@ -0,0 +1,225 @@
+package com.streamix.catalog.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.event.CatalogRevision;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Batch write path for catalog ingestion.
+ * Each fetched TMDB page becomes one unordered bulk operation: upsert on tmdbId,
+ * $set on the mutable fields and $addToSet on categories, instead of a
+ * findByTmdbId + save round trip per title.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogBulkWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogRevision catalogRevision;
+
+    /**
+     * Upsert a page of movies and tag them with the given category
+     *
+     * @return number of movies that were newly inserted
+     */
+    public int upsertMovies(List<Movie> movies, String category) {
+        return upsertMovies(movies, category, null);
+    }
+
+    /**
+     * Upsert a page of movies into a staged category generation
+     * (see CategoryGenerationService); a null tag skips generation tagging
+     *
+     * @return number of movies that were newly inserted
+     */
+    public int upsertMovies(List<Movie> movies, String category, String generationTag) {
+        Collection<Movie> unique = dedupe(movies, Movie::getTmdbId);
+        if (unique.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class);
+        for (Movie movie : unique) {
+            Update update = new Update()
+                    .setOnInsert("tmdbId", movie.getTmdbId())
+                    .setOnInsert("type", movie.getType())
+                    .setOnInsert("category", category)
+                    .addToSet("categories", category)
+                    .set("cachedAt", movie.getCachedAt());
+            setMovieFields(update, movie);
+            if (generationTag != null) {
+                update.addToSet("generationTags", generationTag);
+            }
+
+            bulk.upsert(byTmdbId(movie.getTmdbId()), update);
+        }
+
+        int inserted = insertedCount(bulk.execute());
+        eventPublisher.publishEvent(new CatalogUpdatedEvent("movie", new ArrayList<>(unique)));
+        catalogRevision.advance();
+        return inserted;
+    }
+
+    /**
+     * Upsert a page of TV shows and tag them with the given category
+     *
+     * @return number of TV shows that were newly inserted
+     */
+    public int upsertTVShows(List<TVShow> shows, String category) {
+        return upsertTVShows(shows, category, null);
+    }
+
+    /**
+     * Upsert a page of TV shows into a staged category generation
+     * (see CategoryGenerationService); a null tag skips generation tagging
+     *
+     * @return number of TV shows that were newly inserted
+     */
+    public int upsertTVShows(List<TVShow> shows, String category, String generationTag) {
+        Collection<TVShow> unique = dedupe(shows, TVShow::getTmdbId);
+        if (unique.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TVShow.class);
+        for (TVShow show : unique) {
+            Update update = new Update()
+                    .setOnInsert("tmdbId", show.getTmdbId())
+                    .setOnInsert("type", show.getType())
+                    .setOnInsert("category", category)
+                    .addToSet("categories", category)
+                    .set("cachedAt", show.getCachedAt());
+            setTVShowFields(update, show);
+            if (generationTag != null) {
+                update.addToSet("generationTags", generationTag);
+            }
+
+            bulk.upsert(byTmdbId(show.getTmdbId()), update);
+        }
+
+        int inserted = insertedCount(bulk.execute());
+        eventPublisher.publishEvent(new CatalogUpdatedEvent("tv", new ArrayList<>(unique)));
+        catalogRevision.advance();
+        return inserted;
+    }
+
+    /**
+     * Refresh stored movies from newer TMDB data, e.g. titles reported by the change
+     * feed. Only documents that already exist are touched; categories are left alone.
+     *
+     * @return number of movies that were modified
+     */
+    public int refreshMovies(List<Movie> movies) {
+        Collection<Movie> unique = dedupe(movies, Movie::getTmdbId);
+        if (unique.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class);
+        for (Movie movie : unique) {
+            Update update = new Update().set("cachedAt", movie.getCachedAt());
+            setMovieFields(update, movie);
+            bulk.updateOne(byTmdbId(movie.getTmdbId()), update);
+        }
+
+        int modified = bulk.execute().getModifiedCount();
+        eventPublisher.publishEvent(new CatalogUpdatedEvent("movie", new ArrayList<>(unique)));
+        catalogRevision.advance();
+        return modified;
+    }
+
+    /**
+     * Refresh stored TV shows from newer TMDB data; see {@link #refreshMovies(List)}
+     *
+     * @return number of TV shows that were modified
+     */
+    public int refreshTVShows(List<TVShow> shows) {
+        Collection<TVShow> unique = dedupe(shows, TVShow::getTmdbId);
+        if (unique.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TVShow.class);
+        for (TVShow show : unique) {
+            Update update = new Update().set("cachedAt", show.getCachedAt());
+            setTVShowFields(update, show);
+            setIfPresent(update, "numberOfSeasons", show.getNumberOfSeasons());
+            setIfPresent(update, "numberOfEpisodes", show.getNumberOfEpisodes());
+            bulk.updateOne(byTmdbId(show.getTmdbId()), update);
+        }
+
+        int modified = bulk.execute().getModifiedCount();
+        eventPublisher.publishEvent(new CatalogUpdatedEvent("tv", new ArrayList<>(unique)));
+        catalogRevision.advance();
+        return modified;
+    }
+
+    private static void setMovieFields(Update update, Movie movie) {
+        setIfPresent(update, "title", movie.getTitle());
+        setIfPresent(update, "posterUrl", movie.getPosterUrl());
+        setIfPresent(update, "backdropUrl", movie.getBackdropUrl());
+        setIfPresent(update, "popularity", movie.getPopularity());
+        setIfPresent(update, "voteAverage", movie.getVoteAverage());
+        setIfPresent(update, "overview", movie.getOverview());
+        setIfPresent(update, "releaseDate", movie.getReleaseDate());
+        setIfPresent(update, "releaseYear", movie.getReleaseYear());
+        setIfPresent(update, "genreIds", movie.getGenreIds());
+    }
+
+    private static void setTVShowFields(Update update, TVShow show) {
+        setIfPresent(update, "title", show.getTitle());
+        setIfPresent(update, "name", show.getName());
+        setIfPresent(update, "posterUrl", show.getPosterUrl());
+        setIfPresent(update, "backdropUrl", show.getBackdropUrl());
+        setIfPresent(update, "popularity", show.getPopularity());
+        setIfPresent(update, "voteAverage", show.getVoteAverage());
+        setIfPresent(update, "overview", show.getOverview());
+        setIfPresent(update, "firstAirDate", show.getFirstAirDate());
+        setIfPresent(update, "releaseYear", show.getReleaseYear());
+        setIfPresent(update, "genreIds", show.getGenreIds());
+    }
+
+    private static Query byTmdbId(Integer tmdbId) {
+        return new Query(Criteria.where("tmdbId").is(tmdbId));
+    }
+
+    // Never overwrite stored data with a field TMDB omitted from this response
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    // TMDB pages can repeat a title; two upserts on the same key in one batch would race
+    private static <T> Collection<T> dedupe(List<T> titles, Function<T, Integer> tmdbId) {
+        Map<Integer, T> unique = new LinkedHashMap<>();
+        for (T title : titles) {
+            if (tmdbId.apply(title) != null) {
+                unique.put(tmdbId.apply(title), title);
+            }
+        }
+        return unique.values();
+    }
+
+    private static int insertedCount(BulkWriteResult result) {
+        return result.getUpserts().size();
+    }
+}
@@ -0,0 +1,201 @@
+package com.streamix.catalog.repository;
+
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.entity.TVShow;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes for the catalog's real access patterns, created at startup, plus an
+ * explain-plan check of the hot queries. Spring Data's auto index creation is off,
+ * so the {@code @Indexed} annotations on the entities are not applied on their own.
+ */
+@Repository
+public class CatalogIndexManager {
+
+    private static final String COLLSCAN = "COLLSCAN";
+
+    /**
+     * Outcome of the last verification: index definitions that could not be created,
+     * the winning plan of every hot query, and which of them scan the collection
+     */
+    public record Report(LocalDateTime checkedAt, List<String> failedIndexes, Map<String, String> plans,
+            List<String> collectionScans) {
+
+        public boolean healthy() {
+            return failedIndexes.isEmpty() && collectionScans.isEmpty();
+        }
+    }
+
+    private record HotQuery(String name, Document filter, Document sort, int limit) {
+    }
+
+    private static final List<Index> INDEXES = List.of(
+            // Upsert key for every bulk write and the ranked/batch lookups
+            new Index().on("tmdbId", Sort.Direction.ASC).unique().named("tmdbId"),
+            // Multikey: category rows, cache refresh and the pre-generation fallback, popularity-sorted
+            new Index().on("categories", Sort.Direction.ASC).on("popularity", Sort.Direction.DESC)
+                    .named("categories_popularity"),
+            // Multikey: members of the active category generation
+            new Index().on("generationTags", Sort.Direction.ASC).on("popularity", Sort.Direction.DESC)
+                    .named("generationTags_popularity"),
+            new Index().on("category", Sort.Direction.ASC).named("category"),
+            // Multikey: genre rows, most popular first
+            new Index().on("genreIds", Sort.Direction.ASC).on("popularity", Sort.Direction.DESC)
+                    .named("genreIds_popularity"),
+            new Index().on("type", Sort.Direction.ASC).on("releaseYear", Sort.Direction.DESC)
+                    .named("type_releaseYear"),
+            // Unfiltered "top N by popularity"
+            new Index().on("popularity", Sort.Direction.DESC).named("popularity"));
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("tmdbId", new Document("tmdbId", 0), null, 0),
+            new HotQuery("tmdbIdIn", new Document("tmdbId", new Document("$in", List.of(0, 1))), null, 0),
+            new HotQuery("categories", new Document("categories", "?"), new Document("popularity", -1), 0),
+            new HotQuery("generationTags", new Document("generationTags", "?@0"), new Document("popularity", -1), 0),
+            new HotQuery("category", new Document("category", "?"), null, 0),
+            new HotQuery("genreIds", new Document("genreIds", 0), new Document("popularity", -1), 20),
+            new HotQuery("typeReleaseYear", new Document("type", "?").append("releaseYear", 0), null, 0),
+            new HotQuery("topByPopularity", new Document(), new Document("popularity", -1), 20));
+
+    private static final List<Class<?>> COLLECTIONS = List.of(Movie.class, TVShow.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean ensureOnStartup;
+    private final long verifyIntervalNanos;
+
+    private volatile Report report;
+    private volatile long reportNanos;
+
+    public CatalogIndexManager(MongoTemplate mongoTemplate,
+            @Value("${catalog.indexes.ensure-on-startup:true}") boolean ensureOnStartup,
+            @Value("${catalog.indexes.verify-interval:5m}") Duration verifyInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.ensureOnStartup = ensureOnStartup;
+        this.verifyIntervalNanos = verifyInterval.toNanos();
+    }
+
+    /**
+     * Create any missing catalog indexes (unless disabled), then verify the hot queries
+     */
+    public Report ensureAndVerify() {
+        List<String> failed = new ArrayList<>();
+        if (ensureOnStartup) {
+            for (Class<?> entityClass : COLLECTIONS) {
+                String collection = mongoTemplate.getCollectionName(entityClass);
+                for (Index index : INDEXES) {
+                    String name = collection + "." + index.getIndexOptions().getString("name");
+                    try {
+                        // No-op when an identical index already exists
+                        mongoTemplate.indexOps(entityClass).createIndex(index);
+                    } catch (Exception e) {
+                        // e.g. duplicate tmdbIds, or the same keys indexed under another name
+                        System.err.println("Could not create index " + name + ": " + e.getMessage());
+                        failed.add(name);
+                    }
+                }
+            }
+        }
+        return verify(failed);
+    }
+
+    /**
+     * The last verification, re-run when it is older than the verify interval
+     */
+    public Report report() {
+        Report current = report;
+        if (current == null || System.nanoTime() - reportNanos > verifyIntervalNanos) {
+            current = verify(current != null ? current.failedIndexes() : List.of());
+        }
+        return current;
+    }
+
+    private Report verify(List<String> failedIndexes) {
+        Map<String, String> plans = new LinkedHashMap<>();
+        List<String> collectionScans = new ArrayList<>();
+
+        for (Class<?> entityClass : COLLECTIONS) {
+            String collection = mongoTemplate.getCollectionName(entityClass);
+            for (HotQuery query : HOT_QUERIES) {
+                String name = collection + "." + query.name();
+                var find = mongoTemplate.getCollection(collection).find(query.filter());
+                if (query.sort() != null) {
+                    find.sort(query.sort());
+                }
+                if (query.limit() > 0) {
+                    find.limit(query.limit());
+                }
+
+                String plan = planSummary(find.explain());
+                plans.put(name, plan);
+                if (plan.startsWith(COLLSCAN)) {
+                    collectionScans.add(name);
+                }
+            }
+        }
+
+        if (!collectionScans.isEmpty()) {
+            System.err.println("Catalog queries running as collection scans: " + collectionScans);
+        }
+        Report verified = new Report(LocalDateTime.now(), List.copyOf(failedIndexes), plans, List.copyOf(collectionScans));
+        report = verified;
+        reportNanos = System.nanoTime();
+        return verified;
+    }
+
+    /**
+     * "COLLSCAN" if the winning plan scans the collection anywhere, otherwise
+     * "IXSCAN &lt;index&gt;" for the index it uses, or the root stage (e.g. "EOF" when
+     * the collection does not exist yet)
+     */
+    static String planSummary(Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+        if (winningPlan == null) {
+            return "UNKNOWN";
+        }
+
+        List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        String indexName = null;
+        for (Document stage : stages) {
+            if (COLLSCAN.equals(stage.getString("stage"))) {
+                return COLLSCAN;
+            }
+            if (indexName == null && stage.get("indexName") instanceof String name) {
+                indexName = name;
+            }
+        }
+        if (indexName != null) {
+            return "IXSCAN " + indexName;
+        }
+        return stages.isEmpty() ? "UNKNOWN" : String.valueOf(stages.get(0).get("stage"));
+    }
+
+    // Plan shapes differ by server version and engine (inputStage, inputStages, queryPlan, ...)
+    private static void collectStages(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            for (Object value : document.values()) {
+                collectStages(value, stages);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                collectStages(value, stages);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.streamix.catalog.repository;
+
+import com.streamix.catalog.dto.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-collection listings that stay flat in heap.
+ * Pages are keyed on _id (monotonic and always indexed) instead of skip/limit,
+ * and the streaming variants write each document straight from a Mongo cursor
+ * rather than materializing the collection first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogListingReader {
+
+    private static final int CURSOR_BATCH_SIZE = 200;
+    private static final byte[] NEWLINE = {'\n'};
+    private static final byte[] COMMA = {','};
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The next page after the given cursor (null for the first page)
+     *
+     * @throws IllegalArgumentException if the cursor is not one we issued
+     */
+    public <T> CursorPage<T> page(Class<T> type, Function<T, String> idOf, String after, int limit) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit + 1);
+        if (after != null && !after.isBlank()) {
+            if (!ObjectId.isValid(after)) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(after)));
+        }
+
+        List<T> items = mongoTemplate.find(query, type);
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> page = items.subList(0, limit);
+        return new CursorPage<>(List.copyOf(page), idOf.apply(page.get(limit - 1)));
+    }
+
+    /**
+     * Write the whole collection as newline-delimited JSON, one document per line
+     */
+    public void writeNdjson(Class<?> type, OutputStream out) throws IOException {
+        try (Stream<?> documents = stream(type)) {
+            Iterator<?> it = documents.iterator();
+            while (it.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                out.write(NEWLINE);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Write the whole collection as a single JSON array, same shape as findAll()
+     */
+    public void writeJsonArray(Class<?> type, OutputStream out) throws IOException {
+        out.write('[');
+        try (Stream<?> documents = stream(type)) {
+            Iterator<?> it = documents.iterator();
+            boolean first = true;
+            while (it.hasNext()) {
+                if (!first) {
+                    out.write(COMMA);
+                }
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                first = false;
+            }
+        }
+        out.write(']');
+        out.flush();
+    }
+
+    private <T> Stream<T> stream(Class<T> type) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.stream(query, type);
+    }
+}
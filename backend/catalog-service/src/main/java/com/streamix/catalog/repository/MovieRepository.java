@@ -2,9 +2,11 @@
 package com.streamix.catalog.repository;
 
 import com.streamix.catalog.entity.Movie;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +22,7 @@ public interface MovieRepository extends MongoRepository<Movie, String> {
 
     Optional<Movie> findByTmdbId(Integer tmdbId); // Find by TMDB ID
 
-    // Search for movies containing the query string (case-insensitive)
-    List<Movie> findByTitleContainingIgnoreCase(String query);
+    List<Movie> findByTmdbIdIn(Collection<Integer> tmdbIds); // Batch lookup by TMDB IDs
 
     // Find top movies by popularity
     List<Movie> findTop20ByOrderByPopularityDesc();
@@ -31,4 +32,14 @@ public interface MovieRepository extends MongoRepository<Movie, String> {
 
     // NEW: Delete movies by categories (for cache refresh)
     void deleteByCategoriesContaining(String category);
+
+    // Dynamic projections: pass the entity class for full documents or a DTO such as TitleCard.
+    // Generation tags look like "Popular Movies@3"
+    <T> List<T> findByCategory(String category, Class<T> type);
+
+    <T> List<T> findByCategoriesContaining(String category, Sort sort, Class<T> type);
+
+    <T> List<T> findByGenerationTagsContaining(String generationTag, Sort sort, Class<T> type);
+
+    <T> List<T> findByTmdbIdIn(Collection<Integer> tmdbIds, Class<T> type);
 }
@@ -0,0 +1,9 @@
+package com.streamix.catalog.repository;
+
+import com.streamix.catalog.entity.SimilarTitles;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SimilarTitlesRepository extends MongoRepository<SimilarTitles, String> {
+}
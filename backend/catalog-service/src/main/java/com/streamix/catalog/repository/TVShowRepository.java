@@ -1,9 +1,11 @@
 package com.streamix.catalog.repository;
 
 import com.streamix.catalog.entity.TVShow;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,11 +13,20 @@ import java.util.Optional;
 public interface TVShowRepository extends MongoRepository<TVShow, String> {
     Optional<TVShow> findByTmdbId(Integer tmdbId);
 
-    List<TVShow> findByCategory(String category);
+    List<TVShow> findByTmdbIdIn(Collection<Integer> tmdbIds);
 
-    List<TVShow> findByTitleContainingIgnoreCase(String query);
+    List<TVShow> findByCategory(String category);
 
     List<TVShow> findByCategoriesContaining(String category);
 
     void deleteByCategoriesContaining(String category);
+
+    // Dynamic projections: pass the entity class for full documents or a DTO such as TitleCard
+    <T> List<T> findByCategory(String category, Class<T> type);
+
+    <T> List<T> findByCategoriesContaining(String category, Sort sort, Class<T> type);
+
+    <T> List<T> findByGenerationTagsContaining(String generationTag, Sort sort, Class<T> type);
+
+    <T> List<T> findByTmdbIdIn(Collection<Integer> tmdbIds, Class<T> type);
 }
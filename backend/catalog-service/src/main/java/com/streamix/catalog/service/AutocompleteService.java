@@ -0,0 +1,82 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.dto.TitleSuggestion;
+import com.streamix.catalog.entity.CatalogTitle;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import com.streamix.catalog.index.TitleTrie;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead suggestions across movies and TV shows.
+ * Catalog updates are collected and a new immutable {@link TitleTrie} is built on a
+ * single background thread, then swapped in atomically; lookups always run against
+ * a complete trie.
+ */
+@Service
+public class AutocompleteService {
+
+    private final int maxSuggestions;
+    private final long rebuildDelayMillis;
+
+    private final Map<String, TitleSuggestion> titles = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile TitleTrie trie = TitleTrie.EMPTY;
+
+    public AutocompleteService(@Value("${catalog.autocomplete.max-suggestions:10}") int maxSuggestions,
+            @Value("${catalog.autocomplete.rebuild-delay-ms:1000}") long rebuildDelayMillis) {
+        this.maxSuggestions = maxSuggestions;
+        this.rebuildDelayMillis = rebuildDelayMillis;
+    }
+
+    public List<TitleSuggestion> suggest(String query, int limit) {
+        return trie.suggest(query, Math.min(limit, maxSuggestions));
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        for (CatalogTitle title : event.titles()) {
+            if (title.getTmdbId() != null && title.getTitle() != null) {
+                titles.put(event.type() + ":" + title.getTmdbId(), new TitleSuggestion(
+                        title.getTmdbId(), title.getTitle(), event.type(), title.getPosterUrl(),
+                        title.getPopularity()));
+            }
+        }
+
+        // Coalesce a burst of ingestion pages into one rebuild
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        try {
+            trie = TitleTrie.build(new ArrayList<>(titles.values()), maxSuggestions);
+        } catch (Exception e) {
+            System.err.println("Error rebuilding autocomplete trie: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
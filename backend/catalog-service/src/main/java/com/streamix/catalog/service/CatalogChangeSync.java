@@ -0,0 +1,173 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.dto.TitleCard;
+import com.streamix.catalog.dto.TmdbChangesResponse;
+import com.streamix.catalog.dto.TmdbResponse;
+import com.streamix.catalog.dto.TmdbTVResponse;
+import com.streamix.catalog.entity.SyncState;
+import com.streamix.catalog.repository.MovieRepository;
+import com.streamix.catalog.repository.SyncStateRepository;
+import com.streamix.catalog.repository.TVShowRepository;
+import com.streamix.catalog.tmdb.TmdbClient;
+import com.streamix.catalog.tmdb.TmdbIngestionEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incremental sync from TMDB's /movie/changes and /tv/changes feeds.
+ * Each run lists the titles TMDB changed since the stored high-water mark, keeps the
+ * ones we actually have, re-fetches only those and bulk-updates them. The work (and
+ * TMDB quota) scales with churn in our catalog rather than with its size. The mark
+ * only advances when every page and detail call succeeded, so a failed run is simply
+ * repeated.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogChangeSync {
+
+    private static final int MAX_WINDOW_DAYS = 14; // TMDB rejects longer change windows
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final TmdbClient tmdbClient;
+    private final TmdbIngestionEngine ingestionEngine;
+    private final SyncStateRepository syncStateRepository;
+    private final MovieRepository movieRepository;
+    private final TVShowRepository tvShowRepository;
+    private final MovieService movieService;
+    private final TVShowService tvShowService;
+
+    /**
+     * Apply movie changes since the last run
+     *
+     * @return number of stored movies that were updated
+     */
+    public int syncMovies() {
+        return sync("movie");
+    }
+
+    /**
+     * Apply TV show changes since the last run
+     *
+     * @return number of stored TV shows that were updated
+     */
+    public int syncTVShows() {
+        return sync("tv");
+    }
+
+    private int sync(String feed) {
+        LocalDateTime runStartedAt = LocalDateTime.now(ZoneOffset.UTC);
+        SyncState state = syncStateRepository.findById(feed).orElse(null);
+
+        // First run: no mark yet, the category refreshes have just loaded everything
+        LocalDateTime since = state != null && state.getHighWaterMark() != null
+                ? state.getHighWaterMark()
+                : runStartedAt.minusDays(1);
+        LocalDateTime earliest = runStartedAt.minusDays(MAX_WINDOW_DAYS);
+        if (since.isBefore(earliest)) {
+            System.err.println("Change sync for " + feed + " last ran " + since
+                    + "; changes older than " + MAX_WINDOW_DAYS + " days wait for the next category refresh");
+            since = earliest;
+        }
+
+        Set<Integer> changed = fetchChangedIds(feed, since, runStartedAt);
+        if (changed == null) {
+            System.err.println("Change sync for " + feed + " incomplete, keeping high-water mark " + since);
+            return 0;
+        }
+
+        int updated = 0;
+        boolean complete = true;
+        List<Integer> ids = new ArrayList<>(changed);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<Integer> owned = ownedIds(feed, ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size())));
+            if (owned.isEmpty()) {
+                continue;
+            }
+
+            if ("movie".equals(feed)) {
+                List<TmdbResponse.TmdbMovieDto> details = ingestionEngine.fetchEach("/movie/{id}", owned,
+                        TmdbResponse.TmdbMovieDto.class);
+                complete &= !details.contains(null);
+                updated += movieService.refreshFromDetails(details.stream().filter(Objects::nonNull).toList());
+            } else {
+                List<TmdbTVResponse.TmdbTVDto> details = ingestionEngine.fetchEach("/tv/{id}", owned,
+                        TmdbTVResponse.TmdbTVDto.class);
+                complete &= !details.contains(null);
+                updated += tvShowService.refreshFromDetails(details.stream().filter(Objects::nonNull).toList());
+            }
+        }
+
+        System.out.println("Change sync for " + feed + ": " + changed.size() + " changed on TMDB, "
+                + updated + " updated in catalog");
+        if (complete) {
+            syncStateRepository.save(new SyncState(feed, runStartedAt, LocalDateTime.now(), changed.size(), updated));
+        } else {
+            System.err.println("Change sync for " + feed + " had failed detail calls, keeping high-water mark");
+        }
+        return updated;
+    }
+
+    /**
+     * Every TMDB ID in the feed for the window, or null if any page failed
+     */
+    private Set<Integer> fetchChangedIds(String feed, LocalDateTime since, LocalDateTime until) {
+        // The feed works in whole UTC days; re-applying an overlapping day is harmless
+        String endpoint = "/" + feed + "/changes?start_date=" + since.toLocalDate()
+                + "&end_date=" + until.toLocalDate();
+
+        TmdbChangesResponse first;
+        try {
+            first = tmdbClient.get(endpoint, Map.of("page", 1), TmdbChangesResponse.class);
+        } catch (Exception e) {
+            System.err.println("Error fetching " + endpoint + ": " + e.getMessage());
+            return null;
+        }
+        if (first == null) {
+            return null;
+        }
+
+        List<TmdbChangesResponse> pages = new ArrayList<>();
+        pages.add(first);
+        int totalPages = first.getTotalPages() != null ? first.getTotalPages() : 1;
+        if (totalPages > 1) {
+            pages.addAll(ingestionEngine.fetchPagesAsync(endpoint, 2, totalPages, TmdbChangesResponse.class).join());
+        }
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (TmdbChangesResponse page : pages) {
+            if (page == null) {
+                return null;
+            }
+            if (page.getResults() != null) {
+                for (TmdbChangesResponse.Change change : page.getResults()) {
+                    if (change.getId() != null) {
+                        ids.add(change.getId());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<Integer> ownedIds(String feed, List<Integer> ids) {
+        if ("movie".equals(feed)) {
+            // The movies collection also holds a few TV entries, whose IDs are a different namespace
+            return movieRepository.findByTmdbIdIn(ids, TitleCard.class).stream()
+                    .filter(card -> !"tv".equals(card.getType()))
+                    .map(TitleCard::getTmdbId)
+                    .toList();
+        }
+        return tvShowRepository.findByTmdbIdIn(ids, TitleCard.class).stream()
+                .map(TitleCard::getTmdbId)
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.streamix.catalog.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.streamix.catalog.entity.CategoryGeneration;
+import com.streamix.catalog.event.CatalogRevision;
+import com.streamix.catalog.event.CategoryActivatedEvent;
+import com.streamix.catalog.repository.CategoryGenerationRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Blue/green membership for category rows.
+ * A refresh tags the freshly fetched titles with a staging generation, then
+ * {@link #activate} flips the category document so readers switch to the new
+ * membership atomically. Only titles that left the category are untagged afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryGenerationService {
+
+    // Other replicas may switch a category; re-read the active generation this often
+    private static final long CACHE_TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final CategoryGenerationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogRevision catalogRevision;
+
+    private final Map<String, CachedGeneration> activeGenerations = new ConcurrentHashMap<>();
+
+    private record CachedGeneration(long generation, long loadedAtNanos) {
+    }
+
+    public static String tag(String category, long generation) {
+        return category + "@" + generation;
+    }
+
+    /**
+     * Reserve a new staging generation for a category
+     */
+    public long beginStaging(String category) {
+        CategoryGeneration generation = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(category)),
+                new Update().inc("lastGeneration", 1).setOnInsert("activeGeneration", 0L),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                CategoryGeneration.class);
+        return generation.getLastGeneration();
+    }
+
+    /**
+     * Tag readers should query for a category, or empty if it was never staged
+     */
+    public Optional<String> activeTag(String category) {
+        long now = System.nanoTime();
+        CachedGeneration cached = activeGenerations.get(category);
+
+        if (cached == null || now - cached.loadedAtNanos() > CACHE_TTL_NANOS) {
+            long generation = repository.findById(category)
+                    .map(CategoryGeneration::getActiveGeneration)
+                    .orElse(0L);
+            cached = new CachedGeneration(generation, now);
+            activeGenerations.put(category, cached);
+        }
+
+        return cached.generation() > 0
+                ? Optional.of(tag(category, cached.generation()))
+                : Optional.empty();
+    }
+
+    /**
+     * Switch readers to a fully staged generation, then untag titles that left the
+     * category and drop tags of superseded generations.
+     *
+     * @return false if a newer generation was already active (the staged one is discarded)
+     */
+    public boolean activate(String category, long generation, Class<?> entityClass) {
+        long previous = repository.findById(category)
+                .map(CategoryGeneration::getActiveGeneration)
+                .orElse(0L);
+
+        UpdateResult switched = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(category).and("activeGeneration").lt(generation)),
+                new Update()
+                        .set("activeGeneration", generation)
+                        .set("previousGeneration", previous)
+                        .set("activatedAt", LocalDateTime.now()),
+                CategoryGeneration.class);
+
+        if (switched.getModifiedCount() == 0) {
+            System.out.println("Generation " + generation + " of " + category + " superseded. Discarding...");
+            return false;
+        }
+        activeGenerations.put(category, new CachedGeneration(generation, System.nanoTime()));
+
+        String activeTag = tag(category, generation);
+
+        // Untag only the titles that are no longer in the category
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("categories").is(category).and("generationTags").ne(activeTag)),
+                new Update().pull("categories", category),
+                entityClass);
+
+        // Keep the previous generation for readers still holding it; drop anything older
+        String categoryTags = "^" + Pattern.quote(category + "@");
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("generationTags").regex(categoryTags)),
+                new Update().pull("generationTags", new Document("$regex", categoryTags)
+                        .append("$nin", List.of(activeTag, tag(category, previous)))),
+                entityClass);
+
+        System.out.println("Activated generation " + generation + " of " + category);
+        eventPublisher.publishEvent(new CategoryActivatedEvent(category, generation));
+        catalogRevision.advance();
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.dto.TitleCard;
+import com.streamix.catalog.entity.CatalogTitle;
+import com.streamix.catalog.entity.CategoryRanking;
+import com.streamix.catalog.event.CatalogRevision;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-category rankings in TMDB order, stored in category_rankings and mirrored in
+ * memory. Category rows are read as a prefix of the ranking followed by one keyed
+ * tmdbId lookup, instead of loading and sorting the whole category.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryRankingService {
+
+    // Short, so instances that did not run the refresh pick up its ranking quickly
+    private static final long CACHE_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogRevision catalogRevision;
+
+    private final Map<String, CachedRanking> rankings = new ConcurrentHashMap<>();
+
+    // tmdbIds is null when the category has no ranking yet
+    private record CachedRanking(int[] tmdbIds, long loadedAtNanos) {
+    }
+
+    /**
+     * Store a category's ranking; a ranking built for an older generation than the
+     * stored one is ignored
+     *
+     * @return whether the ranking was stored
+     */
+    public boolean record(String category, long generation, List<Integer> rankedTmdbIds) {
+        List<Integer> tmdbIds = List.copyOf(new LinkedHashSet<>(rankedTmdbIds));
+        try {
+            mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(category).and("generation").lte(generation)),
+                    new Update()
+                            .set("generation", generation)
+                            .set("tmdbIds", tmdbIds)
+                            .set("builtAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().upsert(true),
+                    CategoryRanking.class);
+        } catch (DuplicateKeyException e) {
+            // A newer generation's ranking is already stored
+            return false;
+        }
+
+        rankings.put(category, new CachedRanking(tmdbIds.stream().mapToInt(Integer::intValue).toArray(),
+                System.nanoTime()));
+        catalogRevision.advance();
+        return true;
+    }
+
+    /**
+     * TMDB IDs of the first limit titles of a category (all of them when limit &lt;= 0),
+     * or empty if the category has never been ranked
+     */
+    public Optional<List<Integer>> top(String category, int limit) {
+        long now = System.nanoTime();
+        CachedRanking cached = rankings.get(category);
+        if (cached == null || now - cached.loadedAtNanos() > CACHE_TTL_NANOS) {
+            CategoryRanking stored = mongoTemplate.findById(category, CategoryRanking.class);
+            int[] tmdbIds = stored != null && stored.getTmdbIds() != null
+                    ? stored.getTmdbIds().stream().mapToInt(Integer::intValue).toArray()
+                    : null;
+            cached = new CachedRanking(tmdbIds, now);
+            rankings.put(category, cached);
+        }
+
+        if (cached.tmdbIds() == null) {
+            return Optional.empty();
+        }
+        int size = limit > 0 ? Math.min(limit, cached.tmdbIds().length) : cached.tmdbIds().length;
+        List<Integer> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(cached.tmdbIds()[i]);
+        }
+        return Optional.of(top);
+    }
+
+    /**
+     * Put titles loaded with a tmdbId $in lookup back into rank order; titles that
+     * have since disappeared are skipped
+     */
+    public static <T> List<T> inRankOrder(List<Integer> rankedTmdbIds, List<T> titles) {
+        Map<Integer, T> byTmdbId = new HashMap<>(titles.size() * 2);
+        for (T title : titles) {
+            byTmdbId.putIfAbsent(tmdbIdOf(title), title);
+        }
+
+        List<T> ordered = new ArrayList<>(rankedTmdbIds.size());
+        for (Integer tmdbId : rankedTmdbIds) {
+            T title = byTmdbId.get(tmdbId);
+            if (title != null) {
+                ordered.add(title);
+            }
+        }
+        return ordered;
+    }
+
+    // Views are either the entities themselves or TitleCard projections
+    private static Integer tmdbIdOf(Object title) {
+        if (title instanceof CatalogTitle catalogTitle) {
+            return catalogTitle.getTmdbId();
+        }
+        if (title instanceof TitleCard card) {
+            return card.getTmdbId();
+        }
+        throw new IllegalArgumentException("Unsupported title view: " + title.getClass().getName());
+    }
+}
@@ -0,0 +1,117 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.dto.HomeFeed;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import com.streamix.catalog.event.CategoryActivatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialized home feed.
+ * All dashboard rows are read from Mongo once after a refresh (category activation
+ * or ingestion burst) and kept as a single immutable payload, so the page load is one
+ * in-memory read instead of a request per row.
+ */
+@Service
+public class HomeFeedService {
+
+    private final MovieService movieService;
+    private final TVShowService tvShowService;
+    private final int rowSize;
+    private final long rebuildDelayMillis;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "home-feed-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile HomeFeed feed;
+
+    public HomeFeedService(MovieService movieService, TVShowService tvShowService,
+            @Value("${catalog.home-feed.row-size:20}") int rowSize,
+            @Value("${catalog.home-feed.rebuild-delay-ms:2000}") long rebuildDelayMillis) {
+        this.movieService = movieService;
+        this.tvShowService = tvShowService;
+        this.rowSize = rowSize;
+        this.rebuildDelayMillis = rebuildDelayMillis;
+    }
+
+    /**
+     * The current feed; built inline only if a request arrives before the first rebuild
+     */
+    public HomeFeed current() {
+        HomeFeed current = feed;
+        if (current == null) {
+            synchronized (this) {
+                if (feed == null) {
+                    feed = build();
+                }
+                current = feed;
+            }
+        }
+        return current;
+    }
+
+    @EventListener
+    public void onCategoryActivated(CategoryActivatedEvent event) {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        scheduleRebuild();
+    }
+
+    // Coalesce a refresh (many pages, several categories) into one rebuild
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        try {
+            feed = build();
+        } catch (Exception e) {
+            System.err.println("Error rebuilding home feed: " + e.getMessage());
+        }
+    }
+
+    private HomeFeed build() {
+        Map<String, List<?>> rows = new LinkedHashMap<>();
+        // Ranked categories read just the first rowSize titles
+        rows.put("trendingMovies", top(movieService.getTrendingMovies(Movie.class, rowSize)));
+        rows.put("popularMovies", top(movieService.getPopularMovies(Movie.class, rowSize)));
+        rows.put("topRatedMovies", top(movieService.getTopRatedMovies(Movie.class, rowSize)));
+        rows.put("trendingTV", top(tvShowService.getTrendingTVShows(TVShow.class, rowSize)));
+        rows.put("popularTV", top(tvShowService.getPopularTVShows(TVShow.class, rowSize)));
+        rows.put("topRatedTV", top(tvShowService.getTopRatedTVShows(TVShow.class, rowSize)));
+
+        return new HomeFeed(rows, List.copyOf(movieService.getAllGenres()), LocalDateTime.now());
+    }
+
+    private <T> List<T> top(List<T> row) {
+        return List.copyOf(row.subList(0, Math.min(rowSize, row.size())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -3,15 +3,27 @@ package com.streamix.catalog.service;
 import com.streamix.catalog.dto.*;
 import com.streamix.catalog.entity.Genre;
 import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.index.CatalogGenreIndex;
+import com.streamix.catalog.index.CatalogSearchIndex;
+import com.streamix.catalog.index.GenreIndex;
+import com.streamix.catalog.repository.CatalogBulkWriter;
+import com.streamix.catalog.repository.CatalogListingReader;
 import com.streamix.catalog.repository.GenreRepository;
 import com.streamix.catalog.repository.MovieRepository;
+import com.streamix.catalog.tmdb.TmdbClient;
+import com.streamix.catalog.tmdb.TmdbDetailCache;
+import com.streamix.catalog.tmdb.TmdbDetailStore;
+import com.streamix.catalog.tmdb.TmdbIngestionEngine;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import tools.jackson.core.type.TypeReference;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,13 +36,46 @@ public class MovieService {
     private GenreRepository genreRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private TmdbClient tmdbClient;
 
-    @Value("${tmdb.api.key}")
-    private String apiKey;
+    @Autowired
+    private TmdbIngestionEngine ingestionEngine;
+
+    @Autowired
+    private CatalogBulkWriter bulkWriter;
+
+    @Autowired
+    private CatalogListingReader listingReader;
+
+    @Autowired
+    private CategoryGenerationService generationService;
+
+    @Autowired
+    private CategoryRankingService rankingService;
+
+    @Autowired
+    private CatalogGenreIndex genreIndex;
+
+    @Autowired
+    private SimilarTitlesJob similarTitlesJob;
+
+    @Autowired
+    private CatalogSearchIndex searchIndex;
+
+    @Autowired
+    private TmdbDetailStore detailStore;
+
+    @Autowired
+    private SearchEnrichmentService searchEnrichment;
+
+    @Autowired
+    private SearchResultCache searchCache;
 
-    private static final String TMDB_BASE_URL = "https://api.themoviedb.org/3";
     private static final String IMAGE_BASE_URL = "https://image.tmdb.org/t/p/w500";
+    private static final TypeReference<List<TmdbCreditsResponse.CastMember>> CAST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT_TYPE = new TypeReference<>() {
+    };
     private static final String BACKDROP_BASE_URL = "https://image.tmdb.org/t/p/original";
 
     /**
@@ -55,8 +100,7 @@ public class MovieService {
 
     private void loadGenresForType(String type, String endpoint) {
         try {
-            String url = TMDB_BASE_URL + endpoint + "?api_key=" + apiKey;
-            TmdbGenreResponse response = restTemplate.getForObject(url, TmdbGenreResponse.class);
+            TmdbGenreResponse response = tmdbClient.get(endpoint, TmdbGenreResponse.class);
 
             if (response != null && response.getGenres() != null) {
                 for (TmdbGenreResponse.GenreDto genreDto : response.getGenres()) {
@@ -90,42 +134,29 @@ public class MovieService {
         System.out.println("   Target: 500+ movies");
         System.out.println("========================================\n");
 
-        int totalAdded = 0;
-
-        // Popular Movies (100 items - 5 pages)
-        System.out.println("📊 Fetching Popular Movies...");
-        totalAdded += fetchFromEndpoint("/movie/popular", 5, "Popular Movies", "movie");
-
-        // Top Rated Movies (100 items - 5 pages)
-        System.out.println("\n⭐ Fetching Top Rated Movies...");
-        totalAdded += fetchFromEndpoint("/movie/top_rated", 5, "Top Rated Movies", "movie");
+        // Kick off every category up front: pages are fetched concurrently behind the
+        // shared TMDB rate limiter, and persisted here one category at a time
+        List<CategoryFetch> fetches = List.of(
+                // Popular Movies (100 items - 5 pages)
+                prefetch("/movie/popular", 5, "Popular Movies"),
+                // Top Rated Movies (100 items - 5 pages)
+                prefetch("/movie/top_rated", 5, "Top Rated Movies"),
+                // Trending Movies (50 items - 3 pages)
+                prefetch("/trending/movie/day", 3, "Trending Movies"),
+                // Genre-based Movies (50 items each): Action, Comedy, Drama, Sci-Fi, Horror
+                prefetch("/discover/movie?with_genres=28&sort_by=popularity.desc", 3, "Action Movies"),
+                prefetch("/discover/movie?with_genres=35&sort_by=popularity.desc", 3, "Comedy Movies"),
+                prefetch("/discover/movie?with_genres=18&sort_by=popularity.desc", 3, "Drama Movies"),
+                prefetch("/discover/movie?with_genres=878&sort_by=popularity.desc", 3, "Sci-Fi Movies"),
+                prefetch("/discover/movie?with_genres=27&sort_by=popularity.desc", 3, "Horror Movies"));
 
-        // Trending Movies (50 items - 3 pages)
-        System.out.println("\n🔥 Fetching Trending Movies...");
-        totalAdded += fetchFromEndpoint("/trending/movie/day", 3, "Trending Movies", "movie");
-
-        // Genre-based Movies (50 items each)
-        System.out.println("\n🎬 Fetching Genre-based Movies...");
-
-        // Action (28)
-        totalAdded += fetchFromEndpoint("/discover/movie?with_genres=28&sort_by=popularity.desc", 3, "Action Movies",
-                "movie");
-
-        // Comedy (35)
-        totalAdded += fetchFromEndpoint("/discover/movie?with_genres=35&sort_by=popularity.desc", 3, "Comedy Movies",
-                "movie");
-
-        // Drama (18)
-        totalAdded += fetchFromEndpoint("/discover/movie?with_genres=18&sort_by=popularity.desc", 3, "Drama Movies",
-                "movie");
-
-        // Sci-Fi (878)
-        totalAdded += fetchFromEndpoint("/discover/movie?with_genres=878&sort_by=popularity.desc", 3, "Sci-Fi Movies",
-                "movie");
-
-        // Horror (27)
-        totalAdded += fetchFromEndpoint("/discover/movie?with_genres=27&sort_by=popularity.desc", 3, "Horror Movies",
-                "movie");
+        int totalAdded = 0;
+        for (CategoryFetch fetch : fetches) {
+            System.out.println("\nFetching " + fetch.label() + "...");
+            List<TmdbResponse> pages = fetch.pages().join();
+            totalAdded += savePages(pages, fetch.label(), "movie");
+            rankingService.record(fetch.label(), 0, rankedTmdbIds(pages));
+        }
 
         System.out.println("\n========================================");
         System.out.println("✅ Movie loading completed!");
@@ -163,61 +194,48 @@ public class MovieService {
     }
 
     private void refreshPopularContent() {
-        // Delete old popular movies
-        repository.deleteByCategoriesContaining("Popular Movies");
-
-        // Fetch fresh popular movies
-        fetchFromEndpoint("/movie/popular", 3, "Popular Movies", "movie");
+        // Staged refresh: the current popular row stays visible until the new one is complete
+        refreshCategory("/movie/popular", 3, "Popular Movies", "movie");
     }
 
     private void refreshTopRatedContent() {
-        // Delete old top rated movies
-        repository.deleteByCategoriesContaining("Top Rated Movies");
+        refreshCategory("/movie/top_rated", 3, "Top Rated Movies", "movie");
+    }
+
+    private record CategoryFetch(String label, CompletableFuture<List<TmdbResponse>> pages) {
+    }
 
-        // Fetch fresh top rated movies
-        fetchFromEndpoint("/movie/top_rated", 3, "Top Rated Movies", "movie");
+    private CategoryFetch prefetch(String endpoint, int pages, String label) {
+        return new CategoryFetch(label, ingestionEngine.fetchPagesAsync(endpoint, pages, TmdbResponse.class));
     }
 
     /**
-     * Fetch movies from TMDB endpoint with video URLs
+     * Persist already-fetched TMDB pages (null entries are pages that failed)
      */
-    private int fetchFromEndpoint(String endpoint, int pages, String label, String type) {
+    private int savePages(List<TmdbResponse> responses, String label, String type) {
+        return savePages(responses, label, type, null);
+    }
+
+    private int savePages(List<TmdbResponse> responses, String label, String type, String generationTag) {
         int added = 0;
-        System.out.println("\nFetching " + label + "...");
+        int pages = responses.size();
 
         for (int page = 1; page <= pages; page++) {
-            String url = TMDB_BASE_URL + endpoint + "?api_key=" + apiKey + "&page=" + page;
+            TmdbResponse response = responses.get(page - 1);
 
             try {
-                TmdbResponse response = restTemplate.getForObject(url, TmdbResponse.class);
-
                 if (response != null && response.getResults() != null) {
-                    for (TmdbResponse.TmdbMovieDto result : response.getResults()) {
-                        if (result.getPosterPath() != null) {
-                            Optional<Movie> existingOpt = repository.findByTmdbId(result.getId());
-                            if (existingOpt.isEmpty()) {
-                                Movie movie = createMovieFromDto(result, label, type);
-                                repository.save(movie);
-                                added++;
-                            } else {
-                                Movie existing = existingOpt.get();
-                                if (existing.getCategories() == null) {
-                                    existing.setCategories(new ArrayList<>(Arrays.asList(label)));
-                                    repository.save(existing);
-                                } else if (!existing.getCategories().contains(label)) {
-                                    existing.getCategories().add(label);
-                                    repository.save(existing);
-                                }
-                            }
-                        }
-                    }
+                    List<Movie> movies = response.getResults().stream()
+                            .filter(result -> result.getPosterPath() != null)
+                            .map(result -> createMovieFromDto(result, label, type))
+                            .collect(Collectors.toList());
+
+                    // One unordered bulk upsert per page
+                    added += bulkWriter.upsertMovies(movies, label, generationTag);
                 }
                 System.out.println("  Page " + page + "/" + pages + " - Added: " + added);
-
-                // Rate limiting: 500ms between requests
-                Thread.sleep(500);
             } catch (Exception e) {
-                System.err.println("  Error fetching page " + page + ": " + e.getMessage());
+                System.err.println("  Error saving page " + page + ": " + e.getMessage());
             }
         }
 
@@ -225,6 +243,37 @@ public class MovieService {
         return added;
     }
 
+    /**
+     * TMDB IDs in the order TMDB ranked them across the pages, skipping the movies
+     * savePages drops
+     */
+    private static List<Integer> rankedTmdbIds(List<TmdbResponse> responses) {
+        return responses.stream()
+                .filter(response -> response != null && response.getResults() != null)
+                .flatMap(response -> response.getResults().stream())
+                .filter(result -> result.getPosterPath() != null)
+                .map(TmdbResponse.TmdbMovieDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Write fetched TMDB movie details over the stored movies (see CatalogChangeSync)
+     *
+     * @return number of movies modified
+     */
+    public int refreshFromDetails(List<TmdbResponse.TmdbMovieDto> details) {
+        List<Movie> movies = details.stream()
+                .map(dto -> {
+                    Movie movie = createMovieFromDto(dto, null, "movie");
+                    if (dto.getPosterPath() == null) {
+                        movie.setPosterUrl(null); // Keep the stored poster
+                    }
+                    return movie;
+                })
+                .collect(Collectors.toList());
+        return bulkWriter.refreshMovies(movies);
+    }
+
     /**
      * Create Movie entity from TMDB DTO
      */
@@ -265,18 +314,20 @@ public class MovieService {
      */
     public List<TmdbCreditsResponse.CastMember> getMovieCast(Integer tmdbId) {
         try {
-            // Determine type from database
-            Optional<Movie> movieOpt = repository.findByTmdbId(tmdbId);
-            String type = movieOpt.map(Movie::getType).orElse("movie");
-
-            String url = TMDB_BASE_URL + "/" + type + "/" + tmdbId + "/credits?api_key=" + apiKey;
-            TmdbCreditsResponse response = restTemplate.getForObject(url, TmdbCreditsResponse.class);
+            List<TmdbCreditsResponse.CastMember> cast = detailStore.get(TmdbDetailCache.Resource.CAST, "movie:" + tmdbId, CAST_TYPE, () -> {
+                TmdbCreditsResponse response = tmdbClient.get("/{type}/{id}/credits", TmdbCreditsResponse.class,
+                        typeOf(tmdbId), tmdbId);
 
-            if (response != null && response.getCast() != null) {
-                // Return top 10 cast members
+                if (response == null || response.getCast() == null) {
+                    return null;
+                }
+                // Keep only the top 10 cast members
                 return response.getCast().stream()
                         .limit(10)
                         .collect(Collectors.toList());
+            });
+            if (cast != null) {
+                return cast;
             }
         } catch (Exception e) {
             System.err.println("Error fetching cast for TMDB ID " + tmdbId + ": " + e.getMessage());
@@ -290,13 +341,11 @@ public class MovieService {
      */
     public Map<String, Object> getImages(Integer tmdbId) {
         try {
-            // Determine type from database
-            Optional<Movie> movieOpt = repository.findByTmdbId(tmdbId);
-            String type = movieOpt.map(Movie::getType).orElse("movie");
-
-            String url = TMDB_BASE_URL + "/" + type + "/" + tmdbId + "/images?api_key=" + apiKey
-                    + "&include_image_language=en,null";
-            return restTemplate.getForObject(url, Map.class);
+            Map<String, Object> images = detailStore.get(TmdbDetailCache.Resource.IMAGES, "movie:" + tmdbId, JSON_OBJECT_TYPE, () -> {
+                return tmdbClient.get("/{type}/{id}/images", Map.of("include_image_language", "en,null"), Map.class,
+                        typeOf(tmdbId), tmdbId);
+            });
+            return images != null ? images : Collections.emptyMap();
         } catch (Exception e) {
             System.err.println("Error fetching images for TMDB ID " + tmdbId + ": " + e.getMessage());
             return Collections.emptyMap();
@@ -308,12 +357,10 @@ public class MovieService {
      */
     public Map<String, Object> getVideos(Integer tmdbId) {
         try {
-            // Determine type from database
-            Optional<Movie> movieOpt = repository.findByTmdbId(tmdbId);
-            String type = movieOpt.map(Movie::getType).orElse("movie");
-
-            String url = TMDB_BASE_URL + "/" + type + "/" + tmdbId + "/videos?api_key=" + apiKey;
-            return restTemplate.getForObject(url, Map.class);
+            Map<String, Object> videos = detailStore.get(TmdbDetailCache.Resource.VIDEOS, "movie:" + tmdbId, JSON_OBJECT_TYPE, () -> {
+                return tmdbClient.get("/{type}/{id}/videos", Map.class, typeOf(tmdbId), tmdbId);
+            });
+            return videos != null ? videos : Collections.emptyMap();
         } catch (Exception e) {
             System.err.println("Error fetching videos for TMDB ID " + tmdbId + ": " + e.getMessage());
             return Collections.emptyMap();
@@ -321,32 +368,36 @@ public class MovieService {
     }
 
     /**
-     * Smart search: DB first, TMDB fallback with caching
+     * TMDB media type of a stored title ("movie" unless stored otherwise); only
+     * consulted on a detail cache miss
+     */
+    private String typeOf(Integer tmdbId) {
+        return repository.findByTmdbId(tmdbId).map(Movie::getType).orElse("movie");
+    }
+
+    /**
+     * Smart search: cached per normalized query, in-memory index first, TMDB enrichment
      */
-    public List<Movie> searchMovies(String query) {
-        // Search in database first
-        List<Movie> results = repository.findByTitleContainingIgnoreCase(query);
+    public List<Movie> searchMovies(String query, int page, int size) {
+        return searchCache.get("movie", query, page, size, () -> searchUncached(query, page, size));
+    }
+
+    private List<Movie> searchUncached(String query, int page, int size) {
+        // Relevance-ranked page from the local search index
+        List<Movie> results = new ArrayList<>(findAllInOrder(searchIndex.movies().search(query, page, size, searchIndex.fuzzy())));
 
-        // If found enough results, return
-        if (results.size() >= 5) {
+        // If found enough results (or the user is paging), return
+        if (results.size() >= 5 || page > 0) {
             return results;
         }
 
-        // Otherwise, search TMDB and cache results
+        // Otherwise pull TMDB results into the catalog: in the background, or inline if configured
+        if (searchEnrichment.isAsync()) {
+            searchEnrichment.submit("movie", query, () -> enrichFromTmdb(query));
+            return results;
+        }
         try {
-            String url = TMDB_BASE_URL + "/search/movie?api_key=" + apiKey + "&query=" + query;
-            TmdbResponse response = restTemplate.getForObject(url, TmdbResponse.class);
-
-            if (response != null && response.getResults() != null) {
-                for (TmdbResponse.TmdbMovieDto dto : response.getResults()) {
-                    // Only add if not already in DB
-                    if (dto.getPosterPath() != null && repository.findByTmdbId(dto.getId()).isEmpty()) {
-                        Movie movie = createMovieFromDto(dto, "Search Result", "movie");
-                        repository.save(movie);
-                        results.add(movie);
-                    }
-                }
-            }
+            results.addAll(enrichFromTmdb(query));
         } catch (Exception e) {
             System.err.println("Error searching TMDB: " + e.getMessage());
         }
@@ -354,9 +405,57 @@ public class MovieService {
         return results;
     }
 
+    /**
+     * Search TMDB and bulk-insert the results we don't have yet
+     *
+     * @return the newly added movies
+     */
+    private List<Movie> enrichFromTmdb(String query) {
+        TmdbResponse response = tmdbClient.get("/search/movie", Map.of("query", query), TmdbResponse.class);
+        if (response == null || response.getResults() == null) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, TmdbResponse.TmdbMovieDto> candidates = new LinkedHashMap<>();
+        for (TmdbResponse.TmdbMovieDto dto : response.getResults()) {
+            if (dto.getId() != null && dto.getPosterPath() != null) {
+                candidates.putIfAbsent(dto.getId(), dto);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // One lookup for the whole page instead of findByTmdbId per result
+        repository.findByTmdbIdIn(candidates.keySet()).forEach(existing -> candidates.remove(existing.getTmdbId()));
+
+        List<Movie> added = candidates.values().stream()
+                .map(dto -> createMovieFromDto(dto, "Search Result", "movie"))
+                .collect(Collectors.toList());
+        if (!added.isEmpty()) {
+            // The bulk writer's catalog event indexes them for the next search
+            bulkWriter.upsertMovies(added, "Search Result");
+        }
+        return added;
+    }
+
     // Standard CRUD operations
-    public List<Movie> getAllMovies() {
-        return repository.findAll();
+    /**
+     * Keyset page over all movies, ordered by _id
+     */
+    public CursorPage<Movie> getMoviePage(String after, int limit) {
+        return listingReader.page(Movie.class, Movie::getId, after, limit);
+    }
+
+    /**
+     * Stream all movies from a Mongo cursor, as a JSON array or as NDJSON
+     */
+    public void writeAllMovies(OutputStream out, boolean ndjson) throws IOException {
+        if (ndjson) {
+            listingReader.writeNdjson(Movie.class, out);
+        } else {
+            listingReader.writeJsonArray(Movie.class, out);
+        }
     }
 
     public Optional<Movie> getMovieById(String id) {
@@ -368,7 +467,14 @@ public class MovieService {
     }
 
     public List<Movie> getMoviesByCategory(String category) {
-        return repository.findByCategory(category);
+        return getMoviesByCategory(category, Movie.class);
+    }
+
+    /**
+     * Movies in a category, projected onto the given view (Movie or TitleCard)
+     */
+    public <T> List<T> getMoviesByCategory(String category, Class<T> view) {
+        return repository.findByCategory(category, view);
     }
 
     public List<Genre> getAllGenres() {
@@ -383,50 +489,68 @@ public class MovieService {
      * Get popular movies (from categories)
      */
     public List<Movie> getPopularMovies() {
-        return repository.findByCategoriesContaining("Popular Movies");
+        return getPopularMovies(Movie.class);
+    }
+
+    public <T> List<T> getPopularMovies(Class<T> view) {
+        return getPopularMovies(view, 0);
+    }
+
+    public <T> List<T> getPopularMovies(Class<T> view, int limit) {
+        return findInCategory("Popular Movies", view, limit);
     }
 
     /**
      * Get top rated movies (from categories)
      */
     public List<Movie> getTopRatedMovies() {
-        return repository.findByCategoriesContaining("Top Rated Movies");
+        return getTopRatedMovies(Movie.class);
+    }
+
+    public <T> List<T> getTopRatedMovies(Class<T> view) {
+        return getTopRatedMovies(view, 0);
+    }
+
+    public <T> List<T> getTopRatedMovies(Class<T> view, int limit) {
+        return findInCategory("Top Rated Movies", view, limit);
     }
 
     /**
      * Get similar movies based on genre matching
      */
     public List<Movie> getSimilarMovies(Integer tmdbId) {
-        Optional<Movie> currentMovie = repository.findByTmdbId(tmdbId);
-
-        if (currentMovie.isEmpty() || currentMovie.get().getGenreIds() == null) {
-            // Fallback: return popular movies
-            return getPopularMovies().stream().limit(6).collect(Collectors.toList());
+        // Precomputed by the background job: a single keyed read
+        Optional<List<Integer>> precomputed = similarTitlesJob.lookup("movie", tmdbId);
+        if (precomputed.isPresent()) {
+            return findAllInOrder(precomputed.get());
         }
 
-        List<Integer> genreIds = currentMovie.get().getGenreIds();
+        GenreIndex index = genreIndex.movies();
 
-        // Find movies with at least one matching genre
-        List<Movie> allMovies = repository.findAll();
+        if (!index.contains(tmdbId)) {
+            // Not indexed yet (e.g. still warming up): index it from the database on demand
+            Optional<Movie> currentMovie = repository.findByTmdbId(tmdbId);
+            if (currentMovie.isEmpty() || currentMovie.get().getGenreIds() == null) {
+                // Fallback: return popular movies
+                return getPopularMovies(Movie.class, 6);
+            }
+            index.upsertAll(List.of(currentMovie.get()));
+        }
 
-        return allMovies.stream()
-                .filter(m -> !m.getTmdbId().equals(tmdbId)) // Exclude current movie
-                .filter(m -> m.getGenreIds() != null &&
-                        m.getGenreIds().stream().anyMatch(genreIds::contains)) // Has matching genre
-                .sorted((m1, m2) -> {
-                    // Sort by number of matching genres, then by popularity
-                    long matches1 = m1.getGenreIds().stream().filter(genreIds::contains).count();
-                    long matches2 = m2.getGenreIds().stream().filter(genreIds::contains).count();
+        // Most matching genres first, then by popularity
+        return findAllInOrder(Arrays.stream(index.similar(tmdbId, 6)).boxed().collect(Collectors.toList()));
+    }
 
-                    if (matches1 != matches2) {
-                        return Long.compare(matches2, matches1); // More matches first
-                    }
+    /**
+     * Load movies by TMDB ID in one query, preserving the given order
+     */
+    private List<Movie> findAllInOrder(List<Integer> ids) {
+        Map<Integer, Movie> byTmdbId = repository.findByTmdbIdIn(ids).stream()
+                .collect(Collectors.toMap(Movie::getTmdbId, m -> m, (a, b) -> a));
 
-                    return Double.compare(
-                            m2.getPopularity() != null ? m2.getPopularity() : 0.0,
-                            m1.getPopularity() != null ? m1.getPopularity() : 0.0);
-                })
-                .limit(6)
+        return ids.stream()
+                .map(byTmdbId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -435,13 +559,50 @@ public class MovieService {
      */
     public void refreshCategory(String endpoint, int pages, String category, String type) {
         System.out.println("Refreshing category: " + category);
-        fetchFromEndpoint(endpoint, pages, category, type);
+        List<TmdbResponse> responses = ingestionEngine.fetchPages(endpoint, pages, TmdbResponse.class);
+
+        // Never switch readers to a partial row; the current generation stays active
+        if (responses.contains(null)) {
+            System.err.println("Incomplete fetch for " + category + ". Keeping current generation.");
+            return;
+        }
+
+        long generation = generationService.beginStaging(category);
+        savePages(responses, category, type, CategoryGenerationService.tag(category, generation));
+        // Ranked before activation, so the new row is readable in order as soon as it is live
+        rankingService.record(category, generation, rankedTmdbIds(responses));
+        generationService.activate(category, generation, Movie.class);
     }
 
     /**
      * Get trending movies
      */
     public List<Movie> getTrendingMovies() {
-        return repository.findByCategoriesContaining("Trending Movies");
+        return getTrendingMovies(Movie.class);
+    }
+
+    public <T> List<T> getTrendingMovies(Class<T> view) {
+        return getTrendingMovies(view, 0);
+    }
+
+    public <T> List<T> getTrendingMovies(Class<T> view, int limit) {
+        return findInCategory("Trending Movies", view, limit);
+    }
+
+    /**
+     * The first limit titles of a category in TMDB rank order (all when limit &lt;= 0).
+     * Unranked categories fall back to the members of the active category generation,
+     * or the plain categories tag until the category has been refreshed through staging.
+     */
+    private <T> List<T> findInCategory(String category, Class<T> view, int limit) {
+        Optional<List<Integer>> ranked = rankingService.top(category, limit);
+        if (ranked.isPresent()) {
+            return CategoryRankingService.inRankOrder(ranked.get(), repository.findByTmdbIdIn(ranked.get(), view));
+        }
+
+        List<T> titles = generationService.activeTag(category)
+                .map(tag -> repository.findByGenerationTagsContaining(tag, Sort.unsorted(), view))
+                .orElseGet(() -> repository.findByCategoriesContaining(category, Sort.unsorted(), view));
+        return limit > 0 && titles.size() > limit ? titles.subList(0, limit) : titles;
     }
 }
@@ -1,23 +1,43 @@
 package com.streamix.catalog.service;
 
-import com.streamix.catalog.repository.MovieRepository;
-import com.streamix.catalog.repository.TVShowRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class ScheduledTasks {
 
+    private static final Map<String, String> REFRESH_ENDPOINTS = Map.of(
+            "Popular Movies", "/movie/popular",
+            "Top Rated Movies", "/movie/top_rated",
+            "Trending Movies", "/trending/movie/day",
+            "Popular TV", "/tv/popular",
+            "Top Rated TV", "/tv/top_rated",
+            "Trending TV", "/trending/tv/day");
+
     private final MovieService movieService;
     private final TVShowService tvShowService;
-    private final MovieRepository movieRepository;
-    private final TVShowRepository tvShowRepository;
+    private final CatalogChangeSync changeSync;
+
+    /**
+     * Hourly by default: pick up TMDB edits (ratings, posters, overviews) to titles we
+     * already store, using the change feeds instead of re-paging every category.
+     * Set catalog.sync.changes.cron to "-" to disable.
+     */
+    @Scheduled(cron = "${catalog.sync.changes.cron:0 30 * * * *}")
+    public void syncChanges() {
+        System.out.println("🔄 Incremental sync from TMDB change feeds...");
+        changeSync.syncMovies();
+        changeSync.syncTVShows();
+    }
 
     /**
      * Daily refresh at 2 AM
      * Refreshes: Popular Movies, Popular TV, Trending Movies, Trending TV
+     * (list membership and order; field changes arrive through syncChanges)
      */
     @Scheduled(cron = "0 0 2 * * *")
     public void refreshDailyContent() {
@@ -26,24 +46,23 @@ public class ScheduledTasks {
         System.out.println("   Time: 2:00 AM");
         System.out.println("========================================\n");
 
-        // Delete and refresh Popular Movies
+        // Each category is staged under a new generation and switched over atomically,
+        // so rows keep serving the previous membership while TMDB is paged
+
+        // Refresh Popular Movies
         System.out.println("🔄 Refreshing Popular Movies...");
-        movieRepository.deleteByCategoriesContaining("Popular Movies");
         movieService.refreshCategory("/movie/popular", 5, "Popular Movies", "movie");
 
-        // Delete and refresh Popular TV
+        // Refresh Popular TV
         System.out.println("\n🔄 Refreshing Popular TV Shows...");
-        tvShowRepository.deleteByCategoriesContaining("Popular TV");
         tvShowService.refreshCategory("/tv/popular", 5, "Popular TV");
 
-        // Delete and refresh Trending Movies
+        // Refresh Trending Movies
         System.out.println("\n🔄 Refreshing Trending Movies...");
-        movieRepository.deleteByCategoriesContaining("Trending Movies");
         movieService.refreshCategory("/trending/movie/day", 3, "Trending Movies", "movie");
 
-        // Delete and refresh Trending TV
+        // Refresh Trending TV
         System.out.println("\n🔄 Refreshing Trending TV Shows...");
-        tvShowRepository.deleteByCategoriesContaining("Trending TV");
         tvShowService.refreshCategory("/trending/tv/day", 3, "Trending TV");
 
         System.out.println("\n========================================");
@@ -62,14 +81,12 @@ public class ScheduledTasks {
         System.out.println("   Time: Sunday 3:00 AM");
         System.out.println("========================================\n");
 
-        // Delete and refresh Top Rated Movies
+        // Refresh Top Rated Movies (staged, see CategoryGenerationService)
         System.out.println("🔄 Refreshing Top Rated Movies...");
-        movieRepository.deleteByCategoriesContaining("Top Rated Movies");
         movieService.refreshCategory("/movie/top_rated", 5, "Top Rated Movies", "movie");
 
-        // Delete and refresh Top Rated TV
+        // Refresh Top Rated TV
         System.out.println("\n🔄 Refreshing Top Rated TV Shows...");
-        tvShowRepository.deleteByCategoriesContaining("Top Rated TV");
         tvShowService.refreshCategory("/tv/top_rated", 5, "Top Rated TV");
 
         System.out.println("\n========================================");
@@ -83,10 +100,16 @@ public class ScheduledTasks {
     public void manualRefresh(String category, String type) {
         System.out.println("🔧 Manual refresh triggered for: " + category);
 
+        String endpoint = REFRESH_ENDPOINTS.get(category);
+        if (endpoint == null) {
+            System.out.println("No TMDB endpoint known for: " + category);
+            return;
+        }
+
         if ("movie".equals(type)) {
-            movieRepository.deleteByCategoriesContaining(category);
+            movieService.refreshCategory(endpoint, 5, category, "movie");
         } else if ("tv".equals(type)) {
-            tvShowRepository.deleteByCategoriesContaining(category);
+            tvShowService.refreshCategory(endpoint, 5, category);
         }
 
         System.out.println("✅ Manual refresh completed for: " + category);
@@ -0,0 +1,106 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.index.TextNormalizer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background pipeline that pulls TMDB search results into the catalog when a local
+ * search comes up short.
+ * Searches return their local hits immediately; the enrichment lands through the bulk
+ * writer, whose catalog event updates the search index, and the query's cached results
+ * are dropped, so the next identical query is answered locally. The same normalized query is enriched at most once per cooldown,
+ * and when the queue is full new work is dropped rather than delaying searches.
+ */
+@Service
+public class SearchEnrichmentService {
+
+    private final SearchResultCache searchCache;
+    private final boolean async;
+    private final long cooldownNanos;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastEnriched = new ConcurrentHashMap<>();
+    private final ExecutorService pipeline;
+
+    public SearchEnrichmentService(SearchResultCache searchCache,
+            @Value("${catalog.search.enrichment.async:true}") boolean async,
+            @Value("${catalog.search.enrichment.threads:2}") int threads,
+            @Value("${catalog.search.enrichment.queue:100}") int queue,
+            @Value("${catalog.search.enrichment.cooldown:10m}") Duration cooldown) {
+        this.searchCache = searchCache;
+        this.async = async;
+        this.cooldownNanos = cooldown.toNanos();
+        this.pipeline = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queue), runnable -> {
+                    Thread thread = new Thread(runnable, "search-enrichment");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Whether searches hand enrichment to the background pipeline instead of waiting on TMDB
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Queue an enrichment for a query unless the same query is already queued or was
+     * enriched recently
+     *
+     * @return true if the task was accepted
+     */
+    public boolean submit(String type, String query, Runnable enrichment) {
+        String key = type + ":" + TextNormalizer.normalize(query);
+        long now = System.nanoTime();
+
+        Long last = lastEnriched.get(key);
+        if (last != null && now - last < cooldownNanos) {
+            return false;
+        }
+        if (!inFlight.add(key)) {
+            return false;
+        }
+
+        try {
+            pipeline.execute(() -> {
+                try {
+                    enrichment.run();
+                    lastEnriched.put(key, System.nanoTime());
+                    // The short local result cached for this query is now outdated
+                    searchCache.invalidateQuery(type, query);
+                } catch (Exception e) {
+                    System.err.println("Error enriching search \"" + query + "\" from TMDB: " + e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            return false;
+        }
+
+        if (lastEnriched.size() > 10_000) {
+            lastEnriched.values().removeIf(at -> now - at >= cooldownNanos);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.shutdownNow();
+    }
+}
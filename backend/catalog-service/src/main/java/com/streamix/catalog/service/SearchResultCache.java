@@ -0,0 +1,175 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.entity.CatalogTitle;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import com.streamix.catalog.index.TextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Search results keyed by type and normalized query ("Batman ", "BATMAN" and "batman"
+ * share an entry), so repeated queries skip the index, Mongo and the TMDB fallback.
+ * Empty results are cached under their own, longer TTL so a query TMDB knows nothing
+ * about is not retried on every keystroke. Entries are dropped as soon as ingestion
+ * adds a title whose words match the query, and when the TMDB enrichment for the query
+ * itself finishes (TMDB and fuzzy matches need not share the query's words).
+ */
+@Component
+public class SearchResultCache {
+
+    // Past this many titles in one event, dropping everything is cheaper than matching
+    private static final int MATCH_INVALIDATION_LIMIT = 200;
+
+    private record Entry(String type, List<String> queryTokens, List<?> results, long expiresAtNanos) {
+    }
+
+    public record Stats(long hits, long negativeHits, long misses, long invalidations, int entries) {
+    }
+
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long writeEpoch; // Bumped by every catalog write, guarded by lock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SearchResultCache(@Value("${catalog.search.cache.positive-ttl:60s}") Duration positiveTtl,
+            @Value("${catalog.search.cache.negative-ttl:5m}") Duration negativeTtl,
+            @Value("${catalog.search.cache.max-entries:2000}") int maxEntries) {
+        this.positiveTtlNanos = positiveTtl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Cached page of results for the query, or the loader's results (then cached)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String type, String query, int page, int size, Supplier<List<T>> loader) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        String key = type + ":" + String.join(" ", tokens) + ":" + page + ":" + size;
+        long now = System.nanoTime();
+        long epoch;
+
+        lock.lock();
+        try {
+            epoch = writeEpoch;
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAtNanos() < 0) {
+                    (entry.results().isEmpty() ? negativeHits : hits).increment();
+                    return (List<T>) entry.results();
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        List<T> results = List.copyOf(loader.get());
+        long ttl = results.isEmpty() ? negativeTtlNanos : positiveTtlNanos;
+
+        lock.lock();
+        try {
+            // Titles written while we were loading may be missing from the results; don't keep them
+            if (epoch != writeEpoch) {
+                return results;
+            }
+            entries.put(key, new Entry(type, tokens, results, now + ttl));
+            Iterator<String> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Drop entries whose query could now match newly written titles: every query word
+     * must prefix some word of a new title, mirroring the index's matching
+     */
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        if (event.titles().size() > MATCH_INVALIDATION_LIMIT) {
+            invalidate(event.type(), entry -> true);
+            return;
+        }
+
+        List<Set<String>> titleTokens = new ArrayList<>();
+        for (CatalogTitle title : event.titles()) {
+            titleTokens.add(new HashSet<>(TextNormalizer.tokens(title.getTitle())));
+        }
+        invalidate(event.type(), entry -> titleTokens.stream().anyMatch(words -> matches(entry.queryTokens(), words)));
+    }
+
+    /**
+     * Drop every cached page for the query, e.g. once its TMDB enrichment has landed.
+     * A load already in progress for it is not cached either.
+     */
+    public void invalidateQuery(String type, String query) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        invalidate(type, entry -> entry.queryTokens().equals(tokens));
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), negativeHits.sum(), misses.sum(), invalidations.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidate(String type, Predicate<Entry> affected) {
+        lock.lock();
+        try {
+            writeEpoch++;
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next().getValue();
+                if (entry.type().equals(type) && affected.test(entry)) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean matches(List<String> queryTokens, Set<String> titleWords) {
+        if (queryTokens.isEmpty()) {
+            return false;
+        }
+        for (String token : queryTokens) {
+            if (titleWords.stream().noneMatch(word -> word.startsWith(token))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
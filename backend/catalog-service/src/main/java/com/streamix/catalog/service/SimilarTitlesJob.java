@@ -0,0 +1,295 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.entity.CatalogTitle;
+import com.streamix.catalog.entity.SimilarTitles;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import com.streamix.catalog.repository.SimilarTitlesRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job maintaining the precomputed similar-titles table.
+ * Ingestion marks titles dirty; once writes go quiet the job recomputes only the
+ * dirty titles plus those whose stored top-K a dirty title could enter or leave,
+ * and persists the lists that actually changed.
+ */
+@Service
+@RequiredArgsConstructor
+public class SimilarTitlesJob {
+
+    private static final double GENRE_WEIGHT = 0.6;
+    private static final double POPULARITY_WEIGHT = 0.25;
+    private static final double VOTE_WEIGHT = 0.15;
+
+    // Fixed log scale so one very popular title doesn't shift every score in the catalog
+    private static final double POPULARITY_SCALE = Math.log1p(1000);
+
+    private static final List<String> TYPES = List.of("movie", "tv");
+
+    private final SimilarTitlesRepository repository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${catalog.similarity.top-k:6}")
+    private int topK;
+
+    @Value("${catalog.similarity.debounce-seconds:10}")
+    private long debounceSeconds;
+
+    private record Features(int[] genres, double popularity, double voteAverage) {
+    }
+
+    private record Scored(int tmdbId, double score) {
+    }
+
+    private final Map<String, Map<Integer, Features>> features = Map.of(
+            "movie", new ConcurrentHashMap<>(),
+            "tv", new ConcurrentHashMap<>());
+    private final Map<String, Set<Integer>> dirty = Map.of(
+            "movie", ConcurrentHashMap.newKeySet(),
+            "tv", ConcurrentHashMap.newKeySet());
+
+    // In-memory mirror of the similar_titles collection
+    private final Map<String, SimilarTitles> table = new ConcurrentHashMap<>();
+    private volatile boolean tableLoaded;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "similar-titles-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> pendingRun;
+
+    private static String key(String type, Integer tmdbId) {
+        return type + ":" + tmdbId;
+    }
+
+    /**
+     * Precomputed similar TMDB IDs for a title, if the job has covered it
+     */
+    public Optional<List<Integer>> lookup(String type, Integer tmdbId) {
+        String key = key(type, tmdbId);
+        SimilarTitles entry = table.get(key);
+
+        if (entry == null && !tableLoaded) {
+            entry = repository.findById(key).orElse(null);
+            if (entry != null) {
+                table.put(key, entry);
+            }
+        }
+        return Optional.ofNullable(entry).map(SimilarTitles::getSimilarTmdbIds);
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogUpdatedEvent event) {
+        Map<Integer, Features> byTmdbId = features.get(event.type());
+        if (byTmdbId == null) {
+            return;
+        }
+
+        for (CatalogTitle title : event.titles()) {
+            if (title.getTmdbId() == null) {
+                continue;
+            }
+            byTmdbId.put(title.getTmdbId(), new Features(
+                    sortedUnique(title.getGenreIds()),
+                    title.getPopularity() != null ? title.getPopularity() : 0.0,
+                    title.getVoteAverage() != null ? title.getVoteAverage() : 0.0));
+            dirty.get(event.type()).add(title.getTmdbId());
+        }
+        scheduleRun();
+    }
+
+    // Debounce: an ingestion run publishes one event per page, recompute once it is done
+    private synchronized void scheduleRun() {
+        if (pendingRun != null) {
+            pendingRun.cancel(false);
+        }
+        pendingRun = scheduler.schedule(this::run, debounceSeconds, TimeUnit.SECONDS);
+    }
+
+    void run() {
+        if (!tableLoaded) {
+            repository.findAll().forEach(entry -> table.put(entry.getId(), entry));
+            tableLoaded = true;
+        }
+
+        for (String type : TYPES) {
+            Set<Integer> changed = new HashSet<>(dirty.get(type));
+            if (changed.isEmpty()) {
+                continue;
+            }
+            dirty.get(type).removeAll(changed);
+
+            try {
+                int written = recompute(type, changed);
+                System.out.println("Similar titles (" + type + "): " + changed.size() + " changed, "
+                        + written + " lists rewritten");
+            } catch (Exception e) {
+                System.err.println("Error computing similar titles for " + type + ": " + e.getMessage());
+                dirty.get(type).addAll(changed);
+            }
+        }
+    }
+
+    private int recompute(String type, Set<Integer> changed) {
+        Map<Integer, Features> all = features.get(type);
+        Set<Integer> affected = new HashSet<>(changed);
+
+        for (Map.Entry<Integer, Features> entry : all.entrySet()) {
+            if (!affected.contains(entry.getKey()) && isAffected(type, entry.getKey(), entry.getValue(), changed)) {
+                affected.add(entry.getKey());
+            }
+        }
+
+        BulkOperations bulk = null;
+        int written = 0;
+
+        for (Integer tmdbId : affected) {
+            Features self = all.get(tmdbId);
+            if (self == null) {
+                continue;
+            }
+
+            List<Scored> top = topSimilar(tmdbId, self, all);
+            List<Integer> ids = top.stream().map(Scored::tmdbId).toList();
+            SimilarTitles current = table.get(key(type, tmdbId));
+            if (current != null && ids.equals(current.getSimilarTmdbIds())) {
+                continue;
+            }
+
+            SimilarTitles entry = new SimilarTitles(key(type, tmdbId), type, tmdbId, ids,
+                    top.stream().map(Scored::score).toList(), LocalDateTime.now());
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SimilarTitles.class);
+            }
+            bulk.upsert(new Query(Criteria.where("_id").is(entry.getId())), new Update()
+                    .set("type", type)
+                    .set("tmdbId", tmdbId)
+                    .set("similarTmdbIds", entry.getSimilarTmdbIds())
+                    .set("scores", entry.getScores())
+                    .set("computedAt", entry.getComputedAt()));
+            table.put(entry.getId(), entry);
+            written++;
+        }
+
+        if (bulk != null) {
+            bulk.execute();
+        }
+        return written;
+    }
+
+    /**
+     * Whether a changed title can alter this title's stored list: it is in the list
+     * already, or it now scores above the list's weakest entry
+     */
+    private boolean isAffected(String type, Integer tmdbId, Features self, Set<Integer> changed) {
+        SimilarTitles current = table.get(key(type, tmdbId));
+        if (current == null || current.getSimilarTmdbIds() == null) {
+            return true;
+        }
+
+        List<Double> scores = current.getScores();
+        double weakest = scores == null || scores.size() < topK
+                ? Double.NEGATIVE_INFINITY
+                : scores.get(scores.size() - 1);
+
+        for (Integer candidate : changed) {
+            if (current.getSimilarTmdbIds().contains(candidate)) {
+                return true;
+            }
+            Features other = features.get(type).get(candidate);
+            if (other != null && score(self, other) > weakest) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Scored> topSimilar(Integer tmdbId, Features self, Map<Integer, Features> all) {
+        // Min-heap holding the best K seen so far
+        PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+
+        for (Map.Entry<Integer, Features> entry : all.entrySet()) {
+            if (entry.getKey().equals(tmdbId)) {
+                continue;
+            }
+            double score = score(self, entry.getValue());
+            if (score == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            if (best.size() < topK) {
+                best.add(new Scored(entry.getKey(), score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Scored(entry.getKey(), score));
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparingInt(Scored::tmdbId));
+        return ranked;
+    }
+
+    /**
+     * Weighted genre overlap, popularity and vote average; titles sharing no genre
+     * never qualify
+     */
+    private static double score(Features self, Features other) {
+        int shared = 0;
+        int i = 0, j = 0;
+        while (i < self.genres().length && j < other.genres().length) {
+            if (self.genres()[i] == other.genres()[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (self.genres()[i] < other.genres()[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        if (shared == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        double overlap = (double) shared / self.genres().length;
+        double popularity = Math.min(1.0, Math.log1p(Math.max(0.0, other.popularity())) / POPULARITY_SCALE);
+        double vote = Math.min(1.0, other.voteAverage() / 10.0);
+
+        return GENRE_WEIGHT * overlap + POPULARITY_WEIGHT * popularity + VOTE_WEIGHT * vote;
+    }
+
+    private static int[] sortedUnique(List<Integer> genreIds) {
+        if (genreIds == null) {
+            return new int[0];
+        }
+        return genreIds.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,31 +1,57 @@
 package com.streamix.catalog.service;
 
+import com.streamix.catalog.dto.CursorPage;
 import com.streamix.catalog.dto.TmdbTVResponse;
 
 import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.index.CatalogGenreIndex;
+import com.streamix.catalog.index.CatalogSearchIndex;
+import com.streamix.catalog.index.GenreIndex;
+import com.streamix.catalog.repository.CatalogBulkWriter;
+import com.streamix.catalog.repository.CatalogListingReader;
 import com.streamix.catalog.repository.TVShowRepository;
+import com.streamix.catalog.tmdb.TmdbClient;
+import com.streamix.catalog.tmdb.TmdbDetailCache;
+import com.streamix.catalog.tmdb.TmdbDetailStore;
+import com.streamix.catalog.tmdb.TmdbIngestionEngine;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import tools.jackson.core.type.TypeReference;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class TVShowService {
 
     private final TVShowRepository repository;
-    private final RestTemplate restTemplate;
-
-    @Value("${tmdb.api.key}")
-    private String apiKey;
-
-    @Value("${tmdb.api.base-url}")
-    private String baseUrl;
+    private final TmdbClient tmdbClient;
+    private final TmdbIngestionEngine ingestionEngine;
+    private final CatalogBulkWriter bulkWriter;
+    private final CatalogListingReader listingReader;
+    private final CategoryGenerationService generationService;
+    private final CategoryRankingService rankingService;
+    private final CatalogGenreIndex genreIndex;
+    private final SimilarTitlesJob similarTitlesJob;
+    private final CatalogSearchIndex searchIndex;
+    private final TmdbDetailStore detailStore;
+    private final SearchEnrichmentService searchEnrichment;
+    private final SearchResultCache searchCache;
+
+    private static final Sort BY_POPULARITY = Sort.by(Sort.Direction.DESC, "popularity");
+    private static final TypeReference<List<com.streamix.catalog.dto.TmdbCreditsResponse.CastMember>> CAST_TYPE =
+            new TypeReference<>() {
+            };
+    private static final TypeReference<Object> JSON_TYPE = new TypeReference<>() {
+    };
 
     /**
      * Load initial TV shows (500+ items)
@@ -42,37 +68,30 @@ public class TVShowService {
         System.out.println("   Target: 500+ TV shows");
         System.out.println("========================================\n");
 
-        int totalAdded = 0;
-
-        // Popular TV (100 items - 5 pages)
-        System.out.println("📊 Fetching Popular TV Shows...");
-        totalAdded += fetchFromEndpoint("/tv/popular", 5, "Popular TV");
-
-        // Top Rated TV (100 items - 5 pages)
-        System.out.println("\n⭐ Fetching Top Rated TV Shows...");
-        totalAdded += fetchFromEndpoint("/tv/top_rated", 5, "Top Rated TV");
-
-        // Trending TV (50 items - 3 pages)
-        System.out.println("\n🔥 Fetching Trending TV Shows...");
-        totalAdded += fetchFromEndpoint("/trending/tv/day", 3, "Trending TV");
-
-        // Genre-based TV Shows (50 items each)
-        System.out.println("\n📺 Fetching Genre-based TV Shows...");
+        // Kick off every category up front: pages are fetched concurrently behind the
+        // shared TMDB rate limiter, and persisted here one category at a time
+        List<CategoryFetch> fetches = List.of(
+                // Popular TV (100 items - 5 pages)
+                prefetch("/tv/popular", 5, "Popular TV"),
+                // Top Rated TV (100 items - 5 pages)
+                prefetch("/tv/top_rated", 5, "Top Rated TV"),
+                // Trending TV (50 items - 3 pages)
+                prefetch("/trending/tv/day", 3, "Trending TV"),
+                // Genre-based TV Shows (50 items each): Action & Adventure, Comedy, Drama,
+                // Sci-Fi & Fantasy, Crime
+                prefetch("/discover/tv?with_genres=10759&sort_by=popularity.desc", 3, "Action TV"),
+                prefetch("/discover/tv?with_genres=35&sort_by=popularity.desc", 3, "Comedy TV"),
+                prefetch("/discover/tv?with_genres=18&sort_by=popularity.desc", 3, "Drama TV"),
+                prefetch("/discover/tv?with_genres=10765&sort_by=popularity.desc", 3, "Sci-Fi TV"),
+                prefetch("/discover/tv?with_genres=80&sort_by=popularity.desc", 3, "Crime TV"));
 
-        // Action & Adventure (10759)
-        totalAdded += fetchFromEndpoint("/discover/tv?with_genres=10759&sort_by=popularity.desc", 3, "Action TV");
-
-        // Comedy (35)
-        totalAdded += fetchFromEndpoint("/discover/tv?with_genres=35&sort_by=popularity.desc", 3, "Comedy TV");
-
-        // Drama (18)
-        totalAdded += fetchFromEndpoint("/discover/tv?with_genres=18&sort_by=popularity.desc", 3, "Drama TV");
-
-        // Sci-Fi & Fantasy (10765)
-        totalAdded += fetchFromEndpoint("/discover/tv?with_genres=10765&sort_by=popularity.desc", 3, "Sci-Fi TV");
-
-        // Crime (80)
-        totalAdded += fetchFromEndpoint("/discover/tv?with_genres=80&sort_by=popularity.desc", 3, "Crime TV");
+        int totalAdded = 0;
+        for (CategoryFetch fetch : fetches) {
+            System.out.println("\nFetching " + fetch.category() + "...");
+            List<TmdbTVResponse> pages = fetch.pages().join();
+            totalAdded += savePages(pages, fetch.category());
+            rankingService.record(fetch.category(), 0, rankedTmdbIds(pages));
+        }
 
         System.out.println("\n========================================");
         System.out.println("✅ TV show loading completed!");
@@ -80,59 +99,74 @@ public class TVShowService {
         System.out.println("========================================\n");
     }
 
+    private record CategoryFetch(String category, CompletableFuture<List<TmdbTVResponse>> pages) {
+    }
+
+    private CategoryFetch prefetch(String endpoint, int pages, String category) {
+        return new CategoryFetch(category, ingestionEngine.fetchPagesAsync(endpoint, pages, TmdbTVResponse.class));
+    }
+
     /**
-     * Fetch TV shows from TMDB endpoint
+     * Persist already-fetched TMDB pages (null entries are pages that failed)
      */
-    private int fetchFromEndpoint(String endpoint, int pages, String category) {
+    private int savePages(List<TmdbTVResponse> responses, String category) {
+        return savePages(responses, category, null);
+    }
+
+    private int savePages(List<TmdbTVResponse> responses, String category, String generationTag) {
         int added = 0;
+        int pages = responses.size();
 
         for (int page = 1; page <= pages; page++) {
-            try {
-                String url = baseUrl + endpoint +
-                        (endpoint.contains("?") ? "&" : "?") +
-                        "api_key=" + apiKey + "&page=" + page;
-
-                TmdbTVResponse response = restTemplate.getForObject(url, TmdbTVResponse.class);
-
-                if (response != null && response.getResults() != null) {
-                    for (TmdbTVResponse.TmdbTVDto dto : response.getResults()) {
-                        try {
-                            // Check if already exists
-                            java.util.Optional<TVShow> existing = repository.findByTmdbId(dto.getId());
-                            if (existing.isPresent()) {
-                                // Merge category into existing show's categories list
-                                TVShow existingShow = existing.get();
-                                if (existingShow.getCategories() != null
-                                        && !existingShow.getCategories().contains(category)) {
-                                    existingShow.getCategories().add(category);
-                                    repository.save(existingShow);
-                                }
-                                continue;
-                            }
-
-                            TVShow tvShow = createTVShowFromDto(dto, category);
-                            repository.save(tvShow);
-                            added++;
-                        } catch (Exception e) {
-                            System.err.println("  Error processing TV show: " + e.getMessage());
-                        }
-                    }
-                }
-
-                System.out.println("  Page " + page + "/" + pages + " - Added: " + added);
+            TmdbTVResponse response = responses.get(page - 1);
 
-                // Rate limiting
-                Thread.sleep(500);
-
-            } catch (Exception e) {
-                System.err.println("  Error fetching page " + page + ": " + e.getMessage());
+            if (response != null && response.getResults() != null) {
+                try {
+                    List<TVShow> shows = response.getResults().stream()
+                            .map(dto -> createTVShowFromDto(dto, category))
+                            .collect(java.util.stream.Collectors.toList());
+
+                    // One unordered bulk upsert per page
+                    added += bulkWriter.upsertTVShows(shows, category, generationTag);
+                } catch (Exception e) {
+                    System.err.println("  Error saving page " + page + ": " + e.getMessage());
+                }
             }
+
+            System.out.println("  Page " + page + "/" + pages + " - Added: " + added);
         }
 
         System.out.println(category + " complete: " + added + " TV shows added");
         return added;
     }
 
+    /**
+     * TMDB IDs in the order TMDB ranked them across the pages
+     */
+    private static List<Integer> rankedTmdbIds(List<TmdbTVResponse> responses) {
+        return responses.stream()
+                .filter(response -> response != null && response.getResults() != null)
+                .flatMap(response -> response.getResults().stream())
+                .map(TmdbTVResponse.TmdbTVDto::getId)
+                .collect(java.util.stream.Collectors.toList());
+    }
+
+    /**
+     * Write fetched TMDB TV show details over the stored shows (see CatalogChangeSync)
+     *
+     * @return number of TV shows modified
+     */
+    public int refreshFromDetails(List<TmdbTVResponse.TmdbTVDto> details) {
+        List<TVShow> shows = new ArrayList<>(details.size());
+        for (TmdbTVResponse.TmdbTVDto dto : details) {
+            TVShow show = createTVShowFromDto(dto, null);
+            show.setNumberOfSeasons(dto.getNumberOfSeasons());
+            show.setNumberOfEpisodes(dto.getNumberOfEpisodes());
+            shows.add(show);
+        }
+        return bulkWriter.refreshTVShows(shows);
+    }
+
     /**
      * Create TVShow entity from TMDB DTO
      */
@@ -176,36 +210,47 @@ public class TVShowService {
     }
 
     // Basic CRUD operations
-    public List<TVShow> getAllTVShows() {
-        return repository.findAll();
+    /**
+     * Keyset page over all TV shows, ordered by _id
+     */
+    public CursorPage<TVShow> getTVShowPage(String after, int limit) {
+        return listingReader.page(TVShow.class, TVShow::getId, after, limit);
     }
 
     /**
-     * Smart search: DB first, TMDB fallback with caching
+     * Stream all TV shows from a Mongo cursor, as a JSON array or as NDJSON
      */
-    public List<TVShow> searchTVShows(String query) {
-        // Search in database first
-        List<TVShow> results = new ArrayList<>(repository.findByTitleContainingIgnoreCase(query));
+    public void writeAllTVShows(OutputStream out, boolean ndjson) throws IOException {
+        if (ndjson) {
+            listingReader.writeNdjson(TVShow.class, out);
+        } else {
+            listingReader.writeJsonArray(TVShow.class, out);
+        }
+    }
+
+    /**
+     * Smart search: cached per normalized query, in-memory index first, TMDB enrichment
+     */
+    public List<TVShow> searchTVShows(String query, int page, int size) {
+        return searchCache.get("tv", query, page, size, () -> searchUncached(query, page, size));
+    }
 
-        // If found enough results, return
-        if (results.size() >= 5) {
+    private List<TVShow> searchUncached(String query, int page, int size) {
+        // Relevance-ranked page from the local search index
+        List<TVShow> results = new ArrayList<>(findAllInOrder(searchIndex.tvShows().search(query, page, size, searchIndex.fuzzy())));
+
+        // If found enough results (or the user is paging), return
+        if (results.size() >= 5 || page > 0) {
             return results;
         }
 
-        // Otherwise, search TMDB and cache results
+        // Otherwise pull TMDB results into the catalog: in the background, or inline if configured
+        if (searchEnrichment.isAsync()) {
+            searchEnrichment.submit("tv", query, () -> enrichFromTmdb(query));
+            return results;
+        }
         try {
-            String url = baseUrl + "/search/tv?api_key=" + apiKey + "&query=" + query;
-            TmdbTVResponse response = restTemplate.getForObject(url, TmdbTVResponse.class);
-
-            if (response != null && response.getResults() != null) {
-                for (TmdbTVResponse.TmdbTVDto dto : response.getResults()) {
-                    if (dto.getPosterPath() != null && repository.findByTmdbId(dto.getId()).isEmpty()) {
-                        TVShow tvShow = createTVShowFromDto(dto, "Search Result");
-                        repository.save(tvShow);
-                        results.add(tvShow);
-                    }
-                }
-            }
+            results.addAll(enrichFromTmdb(query));
         } catch (Exception e) {
             System.err.println("Error searching TMDB TV: " + e.getMessage());
         }
@@ -213,28 +258,77 @@ public class TVShowService {
         return results;
     }
 
+    /**
+     * Search TMDB and bulk-insert the results we don't have yet
+     *
+     * @return the newly added TV shows
+     */
+    private List<TVShow> enrichFromTmdb(String query) {
+        TmdbTVResponse response = tmdbClient.get("/search/tv", Map.of("query", query), TmdbTVResponse.class);
+        if (response == null || response.getResults() == null) {
+            return List.of();
+        }
+
+        java.util.Map<Integer, TmdbTVResponse.TmdbTVDto> candidates = new java.util.LinkedHashMap<>();
+        for (TmdbTVResponse.TmdbTVDto dto : response.getResults()) {
+            if (dto.getId() != null && dto.getPosterPath() != null) {
+                candidates.putIfAbsent(dto.getId(), dto);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // One lookup for the whole page instead of findByTmdbId per result
+        repository.findByTmdbIdIn(candidates.keySet()).forEach(existing -> candidates.remove(existing.getTmdbId()));
+
+        List<TVShow> added = candidates.values().stream()
+                .map(dto -> createTVShowFromDto(dto, "Search Result"))
+                .collect(java.util.stream.Collectors.toList());
+        if (!added.isEmpty()) {
+            // The bulk writer's catalog event indexes them for the next search
+            bulkWriter.upsertTVShows(added, "Search Result");
+        }
+        return added;
+    }
+
     public List<TVShow> getPopularTVShows() {
-        List<TVShow> shows = repository.findByCategoriesContaining("Popular TV");
-        shows.sort((a, b) -> Double.compare(
-                b.getPopularity() != null ? b.getPopularity() : 0.0,
-                a.getPopularity() != null ? a.getPopularity() : 0.0));
-        return shows;
+        return getPopularTVShows(TVShow.class);
+    }
+
+    /**
+     * Popular TV shows, projected onto the given view (TVShow or TitleCard)
+     */
+    public <T> List<T> getPopularTVShows(Class<T> view) {
+        return getPopularTVShows(view, 0);
+    }
+
+    public <T> List<T> getPopularTVShows(Class<T> view, int limit) {
+        return findInCategory("Popular TV", BY_POPULARITY, view, limit);
     }
 
     public List<TVShow> getTopRatedTVShows() {
-        List<TVShow> shows = repository.findByCategoriesContaining("Top Rated TV");
-        shows.sort((a, b) -> Double.compare(
-                b.getVoteAverage() != null ? b.getVoteAverage() : 0.0,
-                a.getVoteAverage() != null ? a.getVoteAverage() : 0.0));
-        return shows;
+        return getTopRatedTVShows(TVShow.class);
+    }
+
+    public <T> List<T> getTopRatedTVShows(Class<T> view) {
+        return getTopRatedTVShows(view, 0);
+    }
+
+    public <T> List<T> getTopRatedTVShows(Class<T> view, int limit) {
+        return findInCategory("Top Rated TV", Sort.by(Sort.Direction.DESC, "voteAverage"), view, limit);
     }
 
     public List<TVShow> getTrendingTVShows() {
-        List<TVShow> shows = repository.findByCategoriesContaining("Trending TV");
-        shows.sort((a, b) -> Double.compare(
-                b.getPopularity() != null ? b.getPopularity() : 0.0,
-                a.getPopularity() != null ? a.getPopularity() : 0.0));
-        return shows;
+        return getTrendingTVShows(TVShow.class);
+    }
+
+    public <T> List<T> getTrendingTVShows(Class<T> view) {
+        return getTrendingTVShows(view, 0);
+    }
+
+    public <T> List<T> getTrendingTVShows(Class<T> view, int limit) {
+        return findInCategory("Trending TV", BY_POPULARITY, view, limit);
     }
 
     public java.util.Optional<TVShow> getTVShowById(String id) {
@@ -246,7 +340,36 @@ public class TVShowService {
      */
     public void refreshCategory(String endpoint, int pages, String category) {
         System.out.println("Refreshing category: " + category);
-        fetchFromEndpoint(endpoint, pages, category);
+        List<TmdbTVResponse> responses = ingestionEngine.fetchPages(endpoint, pages, TmdbTVResponse.class);
+
+        // Never switch readers to a partial row; the current generation stays active
+        if (responses.contains(null)) {
+            System.err.println("Incomplete fetch for " + category + ". Keeping current generation.");
+            return;
+        }
+
+        long generation = generationService.beginStaging(category);
+        savePages(responses, category, CategoryGenerationService.tag(category, generation));
+        // Ranked before activation, so the new row is readable in order as soon as it is live
+        rankingService.record(category, generation, rankedTmdbIds(responses));
+        generationService.activate(category, generation, TVShow.class);
+    }
+
+    /**
+     * The first limit titles of a category in TMDB rank order (all when limit &lt;= 0).
+     * Unranked categories fall back to the members of the active category generation
+     * (or the plain categories tag) sorted by the given sort.
+     */
+    private <T> List<T> findInCategory(String category, Sort sort, Class<T> view, int limit) {
+        java.util.Optional<List<Integer>> ranked = rankingService.top(category, limit);
+        if (ranked.isPresent()) {
+            return CategoryRankingService.inRankOrder(ranked.get(), repository.findByTmdbIdIn(ranked.get(), view));
+        }
+
+        List<T> titles = generationService.activeTag(category)
+                .map(tag -> repository.findByGenerationTagsContaining(tag, sort, view))
+                .orElseGet(() -> repository.findByCategoriesContaining(category, sort, view));
+        return limit > 0 && titles.size() > limit ? titles.subList(0, limit) : titles;
     }
 
     /**
@@ -254,15 +377,21 @@ public class TVShowService {
      */
     public java.util.List<com.streamix.catalog.dto.TmdbCreditsResponse.CastMember> getTVShowCast(Integer tmdbId) {
         try {
-            String url = baseUrl + "/tv/" + tmdbId + "/credits?api_key=" + apiKey;
-            com.streamix.catalog.dto.TmdbCreditsResponse response = restTemplate.getForObject(url,
-                    com.streamix.catalog.dto.TmdbCreditsResponse.class);
-
-            if (response != null && response.getCast() != null) {
-                // Return top 10 cast members
-                return response.getCast().stream()
-                        .limit(10)
-                        .collect(java.util.stream.Collectors.toList());
+            List<com.streamix.catalog.dto.TmdbCreditsResponse.CastMember> cast = detailStore.get(
+                    TmdbDetailCache.Resource.CAST, "tv:" + tmdbId, CAST_TYPE, () -> {
+                        com.streamix.catalog.dto.TmdbCreditsResponse response = tmdbClient.get("/tv/{id}/credits",
+                                com.streamix.catalog.dto.TmdbCreditsResponse.class, tmdbId);
+
+                        if (response == null || response.getCast() == null) {
+                            return null;
+                        }
+                        // Keep only the top 10 cast members
+                        return response.getCast().stream()
+                                .limit(10)
+                                .collect(java.util.stream.Collectors.toList());
+                    });
+            if (cast != null) {
+                return cast;
             }
         } catch (Exception e) {
             System.err.println("Error fetching cast for TMDB ID " + tmdbId + ": " + e.getMessage());
@@ -275,36 +404,39 @@ public class TVShowService {
      * Get similar TV shows based on genre matching
      */
     public List<TVShow> getSimilarTVShows(Integer tmdbId) {
-        java.util.Optional<TVShow> currentShow = repository.findByTmdbId(tmdbId);
+        // Precomputed by the background job: a single keyed read
+        java.util.Optional<List<Integer>> precomputed = similarTitlesJob.lookup("tv", tmdbId);
+        if (precomputed.isPresent()) {
+            return findAllInOrder(precomputed.get());
+        }
+
+        GenreIndex index = genreIndex.tvShows();
 
-        if (currentShow.isEmpty() || currentShow.get().getGenreIds() == null) {
-            // Fallback: return popular TV
-            return getPopularTVShows().stream().limit(6).collect(java.util.stream.Collectors.toList());
+        if (!index.contains(tmdbId)) {
+            // Not indexed yet (e.g. still warming up): index it from the database on demand
+            java.util.Optional<TVShow> currentShow = repository.findByTmdbId(tmdbId);
+            if (currentShow.isEmpty() || currentShow.get().getGenreIds() == null) {
+                // Fallback: return popular TV
+                return getPopularTVShows(TVShow.class, 6);
+            }
+            index.upsertAll(List.of(currentShow.get()));
         }
 
-        List<Integer> genreIds = currentShow.get().getGenreIds();
-
-        // Find shows with at least one matching genre
-        List<TVShow> allShows = repository.findAll();
-
-        return allShows.stream()
-                .filter(s -> !s.getTmdbId().equals(tmdbId)) // Exclude current show
-                .filter(s -> s.getGenreIds() != null &&
-                        s.getGenreIds().stream().anyMatch(genreIds::contains)) // Has matching genre
-                .sorted((s1, s2) -> {
-                    // Sort by number of matching genres, then by popularity
-                    long matches1 = s1.getGenreIds().stream().filter(genreIds::contains).count();
-                    long matches2 = s2.getGenreIds().stream().filter(genreIds::contains).count();
-
-                    if (matches1 != matches2) {
-                        return Long.compare(matches2, matches1); // More matches first
-                    }
-
-                    return Double.compare(
-                            s2.getPopularity() != null ? s2.getPopularity() : 0.0,
-                            s1.getPopularity() != null ? s1.getPopularity() : 0.0);
-                })
-                .limit(6)
+        // Most matching genres first, then by popularity
+        return findAllInOrder(
+                Arrays.stream(index.similar(tmdbId, 6)).boxed().collect(java.util.stream.Collectors.toList()));
+    }
+
+    /**
+     * Load TV shows by TMDB ID in one query, preserving the given order
+     */
+    private List<TVShow> findAllInOrder(List<Integer> ids) {
+        java.util.Map<Integer, TVShow> byTmdbId = repository.findByTmdbIdIn(ids).stream()
+                .collect(java.util.stream.Collectors.toMap(TVShow::getTmdbId, s -> s, (a, b) -> a));
+
+        return ids.stream()
+                .map(byTmdbId::get)
+                .filter(java.util.Objects::nonNull)
                 .collect(java.util.stream.Collectors.toList());
     }
 
@@ -313,8 +445,9 @@ public class TVShowService {
      */
     public Object getTVShowDetailsFromTmdb(Integer tmdbId) {
         try {
-            String url = baseUrl + "/tv/" + tmdbId + "?api_key=" + apiKey;
-            return restTemplate.getForObject(url, Object.class);
+            return detailStore.get(TmdbDetailCache.Resource.TV_DETAILS, "tv:" + tmdbId, JSON_TYPE, () -> {
+                return tmdbClient.get("/tv/{id}", Object.class, tmdbId);
+            });
         } catch (Exception e) {
             System.err.println("Error fetching TV details from TMDB: " + e.getMessage());
             return null;
@@ -326,8 +459,10 @@ public class TVShowService {
      */
     public Object getTVShowSeasonDetailsFromTmdb(Integer tmdbId, Integer seasonNumber) {
         try {
-            String url = baseUrl + "/tv/" + tmdbId + "/season/" + seasonNumber + "?api_key=" + apiKey;
-            return restTemplate.getForObject(url, Object.class);
+            return detailStore.get(TmdbDetailCache.Resource.TV_SEASON, "tv:" + tmdbId + ":" + seasonNumber, JSON_TYPE,
+                    () -> {
+                        return tmdbClient.get("/tv/{id}/season/{season}", Object.class, tmdbId, seasonNumber);
+                    });
         } catch (Exception e) {
             System.err.println("Error fetching TV season details from TMDB: " + e.getMessage());
             return null;
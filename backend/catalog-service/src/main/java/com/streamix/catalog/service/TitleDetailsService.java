@@ -0,0 +1,124 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.dto.TitleDetails;
+import com.streamix.catalog.dto.TmdbCreditsResponse;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.repository.MovieRepository;
+import com.streamix.catalog.tmdb.TmdbClient;
+import com.streamix.catalog.tmdb.TmdbDetailCache.Resource;
+import com.streamix.catalog.tmdb.TmdbDetailStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Composite detail pages.
+ * Parts already cached (heap or tmdb_details) are reused; otherwise a single TMDB
+ * request with append_to_response=credits,images,videos[,season/N] replaces the four
+ * or five separate calls, and each part is stored under the same key its standalone
+ * endpoint reads, so later /cast, /images or /season requests are cache hits.
+ */
+@Service
+@RequiredArgsConstructor
+public class TitleDetailsService {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<TmdbCreditsResponse.CastMember>> CAST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Object> JSON_TYPE = new TypeReference<>() {
+    };
+
+    private final TmdbClient tmdbClient;
+    private final TmdbDetailStore detailStore;
+    private final MovieRepository movieRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Details, cast, images and videos for a title served from the movies collection
+     */
+    public TitleDetails getMovieDetails(Integer tmdbId) {
+        // Same media-type resolution as the standalone movie endpoints
+        String type = movieRepository.findByTmdbId(tmdbId).map(Movie::getType).orElse("movie");
+        return load(tmdbId, type, "movie:" + tmdbId, null);
+    }
+
+    /**
+     * Details, cast, images, videos and optionally one season of a TV show
+     */
+    public TitleDetails getTVShowDetails(Integer tmdbId, Integer seasonNumber) {
+        return load(tmdbId, "tv", "tv:" + tmdbId, seasonNumber);
+    }
+
+    private TitleDetails load(Integer tmdbId, String type, String key, Integer seasonNumber) {
+        Resource detailsResource = "tv".equals(type) ? Resource.TV_DETAILS : Resource.MOVIE_DETAILS;
+        String seasonKey = "tv:" + tmdbId + ":" + seasonNumber;
+
+        TitleDetails cached = assemble(tmdbId, type, key, detailsResource, seasonNumber, seasonKey, false);
+        if (isComplete(cached, seasonNumber)) {
+            return cached;
+        }
+
+        try {
+            Map<String, Object> response = fetchComposite(tmdbId, type, seasonNumber);
+            if (response != null) {
+                split(response, key, detailsResource, seasonNumber, seasonKey);
+            }
+        } catch (Exception e) {
+            System.err.println("Error fetching composite details for TMDB ID " + tmdbId + ": " + e.getMessage());
+        }
+
+        // Whatever we have now, including stale parts if TMDB could not be reached
+        return assemble(tmdbId, type, key, detailsResource, seasonNumber, seasonKey, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fetchComposite(Integer tmdbId, String type, Integer seasonNumber) {
+        String append = "credits,images,videos" + (seasonNumber != null ? ",season/" + seasonNumber : "");
+        return tmdbClient.get("/{type}/{id}",
+                Map.of("append_to_response", append, "include_image_language", "en,null"), Map.class, type, tmdbId);
+    }
+
+    private void split(Map<String, Object> response, String key, Resource detailsResource, Integer seasonNumber,
+            String seasonKey) {
+        Map<String, Object> details = new HashMap<>(response);
+        Object credits = details.remove("credits");
+        Object images = details.remove("images");
+        Object videos = details.remove("videos");
+        Object season = seasonNumber != null ? details.remove("season/" + seasonNumber) : null;
+
+        detailStore.put(detailsResource, key, details);
+        if (credits != null) {
+            TmdbCreditsResponse parsed = objectMapper.convertValue(credits, TmdbCreditsResponse.class);
+            if (parsed.getCast() != null) {
+                // Same top-10 cut as the standalone cast endpoints
+                detailStore.put(Resource.CAST, key, parsed.getCast().stream().limit(10).toList());
+            }
+        }
+        detailStore.put(Resource.IMAGES, key, images);
+        detailStore.put(Resource.VIDEOS, key, videos);
+        detailStore.put(Resource.TV_SEASON, seasonKey, season);
+    }
+
+    private TitleDetails assemble(Integer tmdbId, String type, String key, Resource detailsResource,
+            Integer seasonNumber, String seasonKey, boolean allowStale) {
+        return new TitleDetails(tmdbId, type,
+                detailStore.peek(detailsResource, key, JSON_OBJECT_TYPE, allowStale).orElse(null),
+                detailStore.peek(Resource.CAST, key, CAST_TYPE, allowStale).orElse(null),
+                detailStore.peek(Resource.IMAGES, key, JSON_OBJECT_TYPE, allowStale).orElse(null),
+                detailStore.peek(Resource.VIDEOS, key, JSON_OBJECT_TYPE, allowStale).orElse(null),
+                seasonNumber != null
+                        ? detailStore.peek(Resource.TV_SEASON, seasonKey, JSON_TYPE, allowStale).orElse(null)
+                        : null);
+    }
+
+    private static boolean isComplete(TitleDetails details, Integer seasonNumber) {
+        return details.getDetails() != null && details.getCast() != null && details.getImages() != null
+                && details.getVideos() != null && (seasonNumber == null || details.getSeason() != null);
+    }
+}
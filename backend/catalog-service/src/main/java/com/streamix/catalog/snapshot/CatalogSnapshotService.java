@@ -0,0 +1,189 @@
+package com.streamix.catalog.snapshot;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import com.streamix.catalog.entity.CategoryGeneration;
+import com.streamix.catalog.entity.CategoryRanking;
+import com.streamix.catalog.entity.Genre;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.entity.SyncState;
+import com.streamix.catalog.entity.TVShow;
+import com.streamix.catalog.index.CatalogIndexLoader;
+import com.streamix.catalog.repository.SyncStateRepository;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports the catalog collections to a binary snapshot file and seeds an empty
+ * database from one, so a fresh environment starts from disk instead of hundreds of
+ * rate-limited TMDB calls. Documents are copied as raw BSON in both directions and
+ * imported with unordered bulk inserts. After a seed, the change-feed sync picks up
+ * from the snapshot's creation time, so only later changes come from TMDB.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final int INSERT_BATCH = 1000;
+    private static final List<Class<?>> COLLECTIONS = List.of(Genre.class, Movie.class, TVShow.class,
+            CategoryGeneration.class, CategoryRanking.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogIndexLoader indexLoader;
+    private final SyncStateRepository syncStateRepository;
+    private final String snapshotPath;
+
+    public CatalogSnapshotService(MongoTemplate mongoTemplate, CatalogIndexLoader indexLoader,
+            SyncStateRepository syncStateRepository,
+            @Value("${catalog.snapshot.path:}") String snapshotPath) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexLoader = indexLoader;
+        this.syncStateRepository = syncStateRepository;
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * Write the catalog to the configured snapshot path
+     *
+     * @return documents written per collection
+     * @throws IllegalStateException if no snapshot path is configured
+     */
+    public Map<String, Long> export() throws IOException {
+        if (snapshotPath.isBlank()) {
+            throw new IllegalStateException("catalog.snapshot.path is not set");
+        }
+        return export(Path.of(snapshotPath));
+    }
+
+    /**
+     * Write the catalog to a snapshot file, replacing it atomically once complete
+     *
+     * @return documents written per collection
+     */
+    public Map<String, Long> export(Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        try (SnapshotWriter writer = new SnapshotWriter(temp, Instant.now())) {
+            for (Class<?> entityClass : COLLECTIONS) {
+                String name = mongoTemplate.getCollectionName(entityClass);
+                writer.beginSection(name);
+                long written = 0;
+                try (MongoCursor<RawBsonDocument> cursor = rawCollection(name).find().batchSize(INSERT_BATCH)
+                        .iterator()) {
+                    while (cursor.hasNext()) {
+                        writer.write(cursor.next());
+                        written++;
+                    }
+                }
+                writer.endSection();
+                counts.put(name, written);
+            }
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("Catalog snapshot written to " + target + ": " + counts);
+        return counts;
+    }
+
+    /**
+     * Import the configured snapshot into whichever catalog collections are empty;
+     * does nothing when no snapshot file is present
+     *
+     * @return whether any documents were imported
+     */
+    public boolean seedIfEmpty() {
+        if (snapshotPath.isBlank() || !Files.isRegularFile(Path.of(snapshotPath))) {
+            return false;
+        }
+
+        try {
+            Map<String, Long> imported = importInto(Path.of(snapshotPath));
+            return imported.values().stream().anyMatch(count -> count > 0);
+        } catch (IOException e) {
+            System.err.println("Error reading catalog snapshot " + snapshotPath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Import a snapshot into the collections that are currently empty
+     *
+     * @return documents inserted per collection (non-empty collections are skipped)
+     */
+    public Map<String, Long> importInto(Path source) throws IOException {
+        long started = System.nanoTime();
+        SnapshotReader reader = new SnapshotReader(source);
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        String name;
+        while ((name = reader.nextSection()) != null) {
+            MongoCollection<RawBsonDocument> collection = rawCollection(name);
+            boolean empty = collection.estimatedDocumentCount() == 0;
+
+            long inserted = 0;
+            List<RawBsonDocument> batch = new ArrayList<>(INSERT_BATCH);
+            RawBsonDocument document;
+            while ((document = reader.nextDocument()) != null) {
+                if (!empty) {
+                    continue; // Never mix a snapshot into live data; skip to the next section
+                }
+                batch.add(document);
+                if (batch.size() == INSERT_BATCH) {
+                    inserted += insert(collection, batch);
+                    batch = new ArrayList<>(INSERT_BATCH);
+                }
+            }
+            if (!batch.isEmpty()) {
+                inserted += insert(collection, batch);
+            }
+            counts.put(name, inserted);
+        }
+
+        if (counts.values().stream().anyMatch(count -> count > 0)) {
+            startChangeSyncAt(reader.createdAt());
+            indexLoader.loadIndexes();
+        }
+        System.out.println("Catalog snapshot from " + reader.createdAt() + " imported in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms: " + counts);
+        return counts;
+    }
+
+    private static long insert(MongoCollection<RawBsonDocument> collection, List<RawBsonDocument> batch) {
+        try {
+            return collection.insertMany(batch, new InsertManyOptions().ordered(false)).getInsertedIds().size();
+        } catch (MongoBulkWriteException e) {
+            // Duplicates from a concurrent writer are fine; everything else went in
+            return e.getWriteResult().getInsertedCount();
+        }
+    }
+
+    // Changes since the snapshot was taken are the only ones still missing
+    private void startChangeSyncAt(Instant createdAt) {
+        LocalDateTime mark = LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC);
+        for (String feed : List.of("movie", "tv")) {
+            if (!syncStateRepository.existsById(feed)) {
+                syncStateRepository.save(new SyncState(feed, mark, null, 0, 0));
+            }
+        }
+    }
+
+    private MongoCollection<RawBsonDocument> rawCollection(String name) {
+        return mongoTemplate.getCollection(name).withDocumentClass(RawBsonDocument.class);
+    }
+}
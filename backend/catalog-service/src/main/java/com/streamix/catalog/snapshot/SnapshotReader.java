@@ -0,0 +1,97 @@
+package com.streamix.catalog.snapshot;
+
+import org.bson.RawBsonDocument;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter} through a memory-mapped buffer:
+ * the OS pages the file in as documents are consumed, and each document is a single
+ * copy out of the mapping with no decoding.
+ */
+public class SnapshotReader {
+
+    private final MappedByteBuffer buffer;
+    private final Instant createdAt;
+
+    public SnapshotReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            byte[] magic = new byte[SnapshotWriter.MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, SnapshotWriter.MAGIC)) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != SnapshotWriter.VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            this.createdAt = Instant.ofEpochMilli(buffer.getLong());
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot: " + path, e);
+        }
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Collection name of the next section, or null after the last one
+     */
+    public String nextSection() throws IOException {
+        int length = readLength();
+        if (length == 0) {
+            return null;
+        }
+        byte[] name = new byte[length];
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Next document of the current section, or null at its end
+     */
+    public RawBsonDocument nextDocument() throws IOException {
+        // A BSON document's first four bytes are its total length, terminator included
+        int length = buffer.remaining() >= Integer.BYTES ? buffer.getInt(buffer.position()) : -1;
+        if (length == 0) {
+            buffer.getInt();
+            return null;
+        }
+        if (length < 5 || length > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot at offset " + buffer.position());
+        }
+        byte[] document = new byte[length];
+        buffer.get(document);
+        return new RawBsonDocument(document);
+    }
+
+    private int readLength() throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated snapshot at offset " + buffer.position());
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt snapshot at offset " + (buffer.position() - Integer.BYTES));
+        }
+        return length;
+    }
+}
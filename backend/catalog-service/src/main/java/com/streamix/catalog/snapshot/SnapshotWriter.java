@@ -0,0 +1,93 @@
+package com.streamix.catalog.snapshot;
+
+import org.bson.RawBsonDocument;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Writes a catalog snapshot file.
+ * <pre>
+ * header   magic "STRMXSNP", int32 version, int64 createdAt (epoch millis)
+ * section  int32 name length, UTF-8 collection name,
+ *          raw BSON documents back to back (each starts with its own int32 length),
+ *          int32 0
+ * trailer  int32 0 (a section with an empty name)
+ * </pre>
+ * All integers are little-endian, like BSON itself, so documents are copied
+ * byte-for-byte in both directions.
+ */
+public class SnapshotWriter implements Closeable {
+
+    static final byte[] MAGIC = "STRMXSNP".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    private final OutputStream out;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private boolean inSection;
+
+    public SnapshotWriter(Path path, Instant createdAt) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16);
+        out.write(MAGIC);
+        writeInt(VERSION);
+        writeLong(createdAt.toEpochMilli());
+    }
+
+    public void beginSection(String collection) throws IOException {
+        if (inSection) {
+            endSection();
+        }
+        byte[] name = collection.getBytes(StandardCharsets.UTF_8);
+        writeInt(name.length);
+        out.write(name);
+        inSection = true;
+    }
+
+    public void write(RawBsonDocument document) throws IOException {
+        ByteBuffer bytes = document.getByteBuffer().asNIO();
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            out.write(copy);
+        }
+    }
+
+    public void endSection() throws IOException {
+        writeInt(0);
+        inSection = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (inSection) {
+                endSection();
+            }
+            writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        scratch.clear();
+        scratch.putInt(value);
+        out.write(scratch.array(), 0, Integer.BYTES);
+    }
+
+    private void writeLong(long value) throws IOException {
+        scratch.clear();
+        scratch.putLong(value);
+        out.write(scratch.array(), 0, Long.BYTES);
+    }
+}
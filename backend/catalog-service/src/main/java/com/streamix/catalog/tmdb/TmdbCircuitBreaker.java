@@ -0,0 +1,137 @@
+package com.streamix.catalog.tmdb;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker in front of TMDB.
+ * After a run of consecutive failures (timeouts, connection errors, 429s, 5xxs) the
+ * circuit opens and calls are rejected immediately instead of tying up request threads
+ * on a struggling upstream. Once the open period has passed a single probe call is let
+ * through; its outcome either closes the circuit or opens it for another period.
+ */
+@Component
+public class TmdbCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public record Stats(State state, int consecutiveFailures, long opened, long rejected) {
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TmdbCircuitBreaker(@Value("${tmdb.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${tmdb.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("TMDB circuit breaker failure threshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go out now; every permitted call must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #release()}
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && !probeInFlight) {
+                probeInFlight = true;
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * TMDB answered; a 404 counts too, since the upstream is evidently healthy
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            if (state != State.CLOSED) {
+                System.out.println("TMDB circuit closed");
+                state = State.CLOSED;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                System.err.println("TMDB circuit opened after " + consecutiveFailures + " consecutive failures");
+                state = State.OPEN;
+                openedAtNanos = System.nanoTime();
+                opened.increment();
+            }
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A permitted call ended without reaching TMDB (e.g. interrupted while waiting)
+     */
+    public void release() {
+        lock.lock();
+        try {
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * True while calls are being rejected, so background refreshes need not be queued
+     */
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return state == State.OPEN && System.nanoTime() - openedAtNanos < openNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(state, consecutiveFailures, opened.sum(), rejected.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
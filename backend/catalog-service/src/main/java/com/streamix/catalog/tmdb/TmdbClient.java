@@ -0,0 +1,240 @@
+package com.streamix.catalog.tmdb;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single entry point for outbound TMDB GETs.
+ * <ul>
+ * <li>Requests are built from an endpoint template plus query parameters; the API key
+ * and encoding are handled here.</li>
+ * <li>Identical concurrent requests are coalesced: the first caller performs the call
+ * and everyone asking for the same URI and response type while it is in flight receives
+ * that same result or failure.</li>
+ * <li>429s, 5xxs and I/O errors are retried a bounded number of times with full-jitter
+ * exponential backoff, or after the server's Retry-After when it sends one.</li>
+ * <li>Every attempt is timed into a per-endpoint histogram (tmdb.client.requests).</li>
+ * </ul>
+ * Each attempt takes a permit from the shared {@link TmdbRateLimiter} and is refused
+ * outright while the {@link TmdbCircuitBreaker} is open.
+ */
+@Component
+public class TmdbClient {
+
+    public record Stats(long calls, long coalesced, long retries) {
+    }
+
+    // The same URI is fetched into different types (e.g. /tv/{id} as a DTO and as raw JSON)
+    private record CallKey(URI uri, Class<?> responseType) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final TmdbRateLimiter rateLimiter;
+    private final TmdbCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final String apiKey;
+    private final int maxRetries;
+    private final long backoffMillis;
+    private final long maxRetryAfterMillis;
+
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public TmdbClient(RestTemplate restTemplate, TmdbRateLimiter rateLimiter, TmdbCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${tmdb.api.base-url}") String baseUrl,
+            @Value("${tmdb.api.key}") String apiKey,
+            @Value("${tmdb.http.max-retries:2}") int maxRetries,
+            @Value("${tmdb.http.retry-backoff:200ms}") Duration backoff,
+            @Value("${tmdb.http.max-retry-after:10s}") Duration maxRetryAfter) {
+        this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.maxRetries = maxRetries;
+        this.backoffMillis = backoff.toMillis();
+        this.maxRetryAfterMillis = maxRetryAfter.toMillis();
+    }
+
+    /**
+     * GET an endpoint template such as "/movie/{id}/credits"
+     */
+    public <T> T get(String endpoint, Class<T> responseType, Object... uriVariables) {
+        return get(endpoint, Map.of(), responseType, uriVariables);
+    }
+
+    /**
+     * GET an endpoint template with query parameters (null values are skipped)
+     */
+    public <T> T get(String endpoint, Map<String, ?> params, Class<T> responseType, Object... uriVariables) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + endpoint)
+                .queryParam("api_key", apiKey);
+        params.forEach((name, value) -> {
+            if (value != null) {
+                builder.queryParam(name, value);
+            }
+        });
+        URI uri = builder.encode().buildAndExpand(uriVariables).toUri();
+        return coalesce(metricName(endpoint), uri, responseType);
+    }
+
+    public Stats stats() {
+        return new Stats(calls.sum(), coalesced.sum(), retries.sum());
+    }
+
+    private <T> T coalesce(String endpoint, URI uri, Class<T> responseType) {
+        CallKey key = new CallKey(uri, responseType);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return responseType.cast(await(existing));
+        }
+
+        try {
+            calls.increment();
+            T response = executeWithRetries(endpoint, uri, responseType);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private <T> T executeWithRetries(String endpoint, URI uri, Class<T> responseType) {
+        for (int attempt = 0;; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new IllegalStateException("TMDB circuit open, not calling " + endpoint);
+            }
+
+            long started = System.nanoTime();
+            String outcome = "IO_ERROR";
+            Boolean upstreamHealthy = null;
+            long retryDelay;
+            try {
+                rateLimiter.acquire();
+                started = System.nanoTime();
+                T response = restTemplate.getForObject(uri, responseType);
+                outcome = "200";
+                upstreamHealthy = true;
+                return response;
+            } catch (HttpStatusCodeException e) {
+                int status = e.getStatusCode().value();
+                outcome = String.valueOf(status);
+                boolean retryable = status == 429 || status >= 500;
+                upstreamHealthy = !retryable;
+                if (!retryable || attempt >= maxRetries) {
+                    throw e;
+                }
+                retryDelay = retryDelayMillis(e.getResponseHeaders(), attempt);
+            } catch (ResourceAccessException e) {
+                upstreamHealthy = false;
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                retryDelay = retryDelayMillis(null, attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for a TMDB permit", e);
+            } finally {
+                if (upstreamHealthy == null) {
+                    circuitBreaker.release();
+                } else if (upstreamHealthy) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                Timer.builder("tmdb.client.requests")
+                        .description("TMDB request latency per attempt")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            pause(endpoint, retryDelay);
+        }
+    }
+
+    /**
+     * Retry-After when the server sent one (capped), otherwise full-jitter exponential backoff
+     */
+    private long retryDelayMillis(HttpHeaders headers, int attempt) {
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter != null) {
+            try {
+                return Math.min(maxRetryAfterMillis, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (NumberFormatException e) {
+                try {
+                    long until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant().toEpochMilli();
+                    return Math.min(maxRetryAfterMillis, Math.max(0, until - System.currentTimeMillis()));
+                } catch (DateTimeParseException ignored) {
+                    // Fall through to backoff
+                }
+            }
+        }
+        long ceiling = backoffMillis << Math.min(attempt, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void pause(String endpoint, long millis) {
+        retries.increment();
+        Counter.builder("tmdb.client.retries")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted between TMDB retries", e);
+        }
+    }
+
+    // Tag by template, not by expanded URI, to keep metric cardinality bounded
+    private static String metricName(String endpoint) {
+        int query = endpoint.indexOf('?');
+        return query >= 0 ? endpoint.substring(0, query) : endpoint;
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.streamix.catalog.tmdb;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for TMDB detail passthroughs (cast, images, videos, TV details).
+ * Entries expire per resource type and the cache is bounded by an estimate of the
+ * retained bytes rather than an entry count, since a videos or images payload can be
+ * a hundred times larger than a cast list. Least recently used entries are evicted
+ * first.
+ */
+@Component
+public class TmdbDetailCache {
+
+    public enum Resource {
+        CAST, IMAGES, VIDEOS, MOVIE_DETAILS, TV_DETAILS, TV_SEASON
+    }
+
+    private record Entry(Object value, long weight, long expiresAtNanos) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, long expirations, int entries, long weightBytes,
+            long maxWeightBytes) {
+    }
+
+    private final long maxWeightBytes;
+    private final Map<Resource, Long> ttlNanos = new EnumMap<>(Resource.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weightBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TmdbDetailCache(@Value("${catalog.tmdb-cache.max-bytes:8388608}") long maxWeightBytes,
+            @Value("${catalog.tmdb-cache.ttl.cast:24h}") Duration castTtl,
+            @Value("${catalog.tmdb-cache.ttl.images:24h}") Duration imagesTtl,
+            @Value("${catalog.tmdb-cache.ttl.videos:6h}") Duration videosTtl,
+            @Value("${catalog.tmdb-cache.ttl.movie-details:12h}") Duration movieDetailsTtl,
+            @Value("${catalog.tmdb-cache.ttl.tv-details:12h}") Duration tvDetailsTtl,
+            @Value("${catalog.tmdb-cache.ttl.tv-season:24h}") Duration tvSeasonTtl) {
+        this.maxWeightBytes = maxWeightBytes;
+        ttlNanos.put(Resource.CAST, castTtl.toNanos());
+        ttlNanos.put(Resource.IMAGES, imagesTtl.toNanos());
+        ttlNanos.put(Resource.VIDEOS, videosTtl.toNanos());
+        ttlNanos.put(Resource.MOVIE_DETAILS, movieDetailsTtl.toNanos());
+        ttlNanos.put(Resource.TV_DETAILS, tvDetailsTtl.toNanos());
+        ttlNanos.put(Resource.TV_SEASON, tvSeasonTtl.toNanos());
+    }
+
+    /**
+     * How long a response for this resource counts as fresh
+     */
+    public Duration ttl(Resource resource) {
+        return Duration.ofNanos(ttlNanos.get(resource));
+    }
+
+    /**
+     * Cached value for the key, or the loader's result; null results are returned
+     * but not cached so that failed calls are retried
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Resource resource, String key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        Object cached = getIfPresent(resource, key);
+        if (cached != null) {
+            return (V) cached;
+        }
+
+        V value = loader.get();
+        if (value != null) {
+            put(resource + ":" + key, value, now + ttlNanos.get(resource));
+        }
+        return value;
+    }
+
+    /**
+     * Unexpired cached value, or null
+     */
+    public Object getIfPresent(Resource resource, String key) {
+        String cacheKey = resource + ":" + key;
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null) {
+                if (now - entry.expiresAtNanos() < 0) {
+                    hits.increment();
+                    return entry.value();
+                }
+                remove(cacheKey);
+                expirations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Replace the cached value, e.g. after a background refresh
+     */
+    public void put(Resource resource, String key, Object value) {
+        if (value != null) {
+            put(resource + ":" + key, value, System.nanoTime() + ttlNanos.get(resource));
+        }
+    }
+
+    /**
+     * Cache a value for a shorter period than the resource's TTL, e.g. a stale copy
+     * served while TMDB is unavailable, so that it is revalidated again soon
+     */
+    public void put(Resource resource, String key, Object value, Duration ttl) {
+        if (value != null) {
+            put(resource + ":" + key, value, System.nanoTime() + Math.min(ttl.toNanos(), ttlNanos.get(resource)));
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries.size(),
+                    weightBytes, maxWeightBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String cacheKey, Object value, long expiresAtNanos) {
+        long weight = estimateBytes(value) + 2L * cacheKey.length();
+        if (weight > maxWeightBytes) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            remove(cacheKey);
+            entries.put(cacheKey, new Entry(value, weight, expiresAtNanos));
+            weightBytes += weight;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (weightBytes > maxWeightBytes && eldest.hasNext()) {
+                weightBytes -= eldest.next().getValue().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String cacheKey) {
+        Entry removed = entries.remove(cacheKey);
+        if (removed != null) {
+            weightBytes -= removed.weight();
+        }
+    }
+
+    /**
+     * Rough retained size of a deserialized JSON payload; only needs to rank entries
+     * sensibly against each other, not be exact
+     */
+    static long estimateBytes(Object value) {
+        if (value == null) {
+            return 8;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 64;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 40;
+            for (Object element : collection) {
+                size += 8 + estimateBytes(element);
+            }
+            return size;
+        }
+        // Typed DTOs such as cast members: a handful of short string fields
+        return 256;
+    }
+}
@@ -0,0 +1,183 @@
+package com.streamix.catalog.tmdb;
+
+import com.streamix.catalog.entity.TmdbDetail;
+import com.streamix.catalog.repository.TmdbDetailRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through path for TMDB detail resources: heap cache, then the tmdb_details
+ * collection, then TMDB.
+ * A stored response past its TTL is still served; it is refreshed in the background
+ * and the new response replaces it once it arrives. Until then the stale copy is only
+ * held in the heap cache briefly, so a refresh that failed (or was skipped because the
+ * TMDB circuit is open) is attempted again soon. Only a title nobody has opened before
+ * waits on TMDB.
+ */
+@Component
+public class TmdbDetailStore {
+
+    private final TmdbDetailCache cache;
+    private final TmdbDetailRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TmdbCircuitBreaker circuitBreaker;
+    private final Duration staleTtl;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+
+    public TmdbDetailStore(TmdbDetailCache cache, TmdbDetailRepository repository, ObjectMapper objectMapper,
+            TmdbCircuitBreaker circuitBreaker,
+            @Value("${catalog.tmdb-store.refresh-threads:2}") int refreshThreads,
+            @Value("${catalog.tmdb-store.refresh-queue:200}") int refreshQueue,
+            @Value("${catalog.tmdb-store.stale-ttl:30s}") Duration staleTtl) {
+        this.cache = cache;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.staleTtl = staleTtl;
+        // Bounded: when TMDB is slow, surplus refreshes are dropped and retried on a later read
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(refreshQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "tmdb-detail-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Detail resource for the key; the loader calls TMDB and returns null when
+     * there is nothing to store
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(TmdbDetailCache.Resource resource, String key, TypeReference<V> type, Supplier<V> loader) {
+        Object cached = cache.getIfPresent(resource, key);
+        if (cached != null) {
+            return (V) cached;
+        }
+        return readThrough(resource, key, type, loader);
+    }
+
+    /**
+     * Detail resource already held in the heap cache or Mongo, without calling TMDB;
+     * with allowStale, entries past their TTL are returned too
+     */
+    public <V> Optional<V> peek(TmdbDetailCache.Resource resource, String key, TypeReference<V> type,
+            boolean allowStale) {
+        Object cached = cache.getIfPresent(resource, key);
+        if (cached != null) {
+            return Optional.of(objectMapper.convertValue(cached, type));
+        }
+
+        Optional<TmdbDetail> stored = repository.findById(resource + ":" + key);
+        if (stored.isEmpty() || stored.get().getPayload() == null) {
+            return Optional.empty();
+        }
+        boolean stale = isStale(stored.get(), cache.ttl(resource));
+        if (stale && !allowStale) {
+            return Optional.empty();
+        }
+
+        V value = objectMapper.convertValue(stored.get().getPayload(), type);
+        if (!stale) {
+            cache.put(resource, key, value);
+        }
+        return Optional.of(value);
+    }
+
+    /**
+     * Store a response fetched elsewhere, e.g. one part of a composite TMDB call
+     */
+    public void put(TmdbDetailCache.Resource resource, String key, Object value) {
+        if (value != null) {
+            save(resource, resource + ":" + key, value);
+            cache.put(resource, key, value);
+        }
+    }
+
+    private <V> V readThrough(TmdbDetailCache.Resource resource, String key, TypeReference<V> type,
+            Supplier<V> loader) {
+        String id = resource + ":" + key;
+
+        Optional<TmdbDetail> stored = repository.findById(id);
+        if (stored.isPresent() && stored.get().getPayload() != null) {
+            TmdbDetail detail = stored.get();
+            V value = objectMapper.convertValue(detail.getPayload(), type);
+            if (isStale(detail, cache.ttl(resource))) {
+                refreshInBackground(resource, key, loader);
+                cache.put(resource, key, value, staleTtl);
+            } else {
+                cache.put(resource, key, value);
+            }
+            return value;
+        }
+
+        V value = loader.get();
+        save(resource, id, value);
+        cache.put(resource, key, value);
+        return value;
+    }
+
+    private void refreshInBackground(TmdbDetailCache.Resource resource, String key, Supplier<?> loader) {
+        String id = resource + ":" + key;
+        // The call would be refused anyway; the next read after the stale TTL tries again
+        if (circuitBreaker.isOpen() || !refreshing.add(id)) {
+            return;
+        }
+
+        try {
+            refresher.execute(() -> {
+                try {
+                    Object value = loader.get();
+                    if (value != null) {
+                        save(resource, id, value);
+                        cache.put(resource, key, value);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Error refreshing TMDB detail " + id + ": " + e.getMessage());
+                } finally {
+                    refreshing.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(id);
+        }
+    }
+
+    private void save(TmdbDetailCache.Resource resource, String id, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            // Store a plain JSON tree so typed DTOs round-trip without class hints
+            Object payload = objectMapper.convertValue(value, Object.class);
+            repository.save(new TmdbDetail(id, resource.name(), payload, LocalDateTime.now()));
+        } catch (Exception e) {
+            System.err.println("Error storing TMDB detail " + id + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isStale(TmdbDetail detail, Duration ttl) {
+        return detail.getFetchedAt() == null || detail.getFetchedAt().plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
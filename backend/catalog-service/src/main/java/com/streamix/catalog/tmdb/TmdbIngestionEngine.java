@@ -0,0 +1,105 @@
+package com.streamix.catalog.tmdb;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Fetches paged TMDB list endpoints (and batches of per-title endpoints) concurrently
+ * on virtual threads.
+ * Throughput is bounded by the shared {@link TmdbRateLimiter} (applied in
+ * {@link TmdbClient}), not by per-page sleeps.
+ */
+@Component
+public class TmdbIngestionEngine {
+
+    private final TmdbClient tmdbClient;
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TmdbIngestionEngine(TmdbClient tmdbClient,
+            @Value("${tmdb.ingestion.max-concurrency:8}") int maxConcurrency) {
+        this.tmdbClient = tmdbClient;
+        this.inFlight = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Start fetching pages 1..pages of an endpoint in the background.
+     * The resulting list is in page order; pages that failed are null.
+     */
+    public <T> CompletableFuture<List<T>> fetchPagesAsync(String endpoint, int pages, Class<T> responseType) {
+        return fetchPagesAsync(endpoint, 1, pages, responseType);
+    }
+
+    /**
+     * Start fetching pages firstPage..lastPage of an endpoint in the background, e.g.
+     * the rest of a feed whose first page told us its page count
+     */
+    public <T> CompletableFuture<List<T>> fetchPagesAsync(String endpoint, int firstPage, int lastPage,
+            Class<T> responseType) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(Math.max(lastPage - firstPage + 1, 0));
+        for (int page = firstPage; page <= lastPage; page++) {
+            int current = page;
+            futures.add(submit(() -> tmdbClient.get(endpoint, Map.of("page", current), responseType),
+                    endpoint + " page " + current + "/" + lastPage));
+        }
+        return allOf(futures);
+    }
+
+    /**
+     * Fetch pages 1..pages of an endpoint and wait for all of them
+     */
+    public <T> List<T> fetchPages(String endpoint, int pages, Class<T> responseType) {
+        return fetchPagesAsync(endpoint, pages, responseType).join();
+    }
+
+    /**
+     * Fetch an endpoint template such as "/movie/{id}" once per id and wait for all of
+     * them. The resulting list is in id order; calls that failed are null.
+     */
+    public <T> List<T> fetchEach(String endpoint, List<Integer> ids, Class<T> responseType) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            futures.add(submit(() -> tmdbClient.get(endpoint, responseType, id), endpoint + " " + id));
+        }
+        return allOf(futures).join();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call, String description) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                inFlight.acquire();
+                try {
+                    return call.get();
+                } finally {
+                    inFlight.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("  Interrupted fetching " + description);
+            } catch (Exception e) {
+                System.err.println("  Error fetching " + description + ": " + e.getMessage());
+            }
+            return null;
+        }, executor);
+    }
+
+    private static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
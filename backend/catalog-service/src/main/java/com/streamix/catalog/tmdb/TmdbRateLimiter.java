@@ -0,0 +1,58 @@
+package com.streamix.catalog.tmdb;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket shared by every outbound TMDB call.
+ * Callers reserve a token and park until it becomes available, so any number of
+ * (virtual) threads can wait on it without exceeding the configured quota.
+ */
+@Component
+public class TmdbRateLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double permitsPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TmdbRateLimiter(@Value("${tmdb.rate-limit.requests-per-second:40}") double requestsPerSecond,
+            @Value("${tmdb.rate-limit.burst:20}") int burst) {
+        if (requestsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("TMDB rate limit and burst must be positive");
+        }
+        this.permitsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Block until a request permit is available
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+
+            // Reserve the token up front (the balance may go negative) and sleep outside the lock
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        } finally {
+            lock.unlock();
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.streamix.catalog.event;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogRevisionTest {
+
+    @Test
+    void current_ServesTheSharedRevisionFromMemoryBetweenRefreshes() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findById("catalog", Document.class, "catalog_revision"))
+                .thenReturn(new Document("revision", 41L));
+        CatalogRevision revision = new CatalogRevision(mongoTemplate, Duration.ofMinutes(1));
+
+        assertEquals(41, revision.current());
+        assertEquals(revision.etag(), revision.etag());
+        verify(mongoTemplate, times(1)).findById("catalog", Document.class, "catalog_revision");
+    }
+
+    @Test
+    void current_PicksUpAnotherReplicasWriteAfterTheRefreshInterval() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findById("catalog", Document.class, "catalog_revision"))
+                .thenReturn(new Document("revision", 41L), new Document("revision", 42L));
+        CatalogRevision revision = new CatalogRevision(mongoTemplate, Duration.ZERO);
+
+        String before = revision.etag();
+        assertNotEquals(before, revision.etag());
+    }
+
+    @Test
+    void advance_UsesTheIncrementedSharedRevision() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndModify(any(), any(), any(), eq(Document.class), eq("catalog_revision")))
+                .thenReturn(new Document("revision", 7L));
+        CatalogRevision revision = new CatalogRevision(mongoTemplate, Duration.ofMinutes(1));
+
+        revision.advance();
+
+        assertEquals(7, revision.current());
+        verify(mongoTemplate, never()).findById(any(), any(), any());
+    }
+}
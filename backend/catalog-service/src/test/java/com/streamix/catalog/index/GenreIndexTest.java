@@ -0,0 +1,62 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenreIndexTest {
+
+    private static Movie movie(int tmdbId, double popularity, Integer... genreIds) {
+        Movie movie = new Movie();
+        movie.setTmdbId(tmdbId);
+        movie.setPopularity(popularity);
+        movie.setGenreIds(List.of(genreIds));
+        return movie;
+    }
+
+    @Test
+    void similar_RanksByGenreOverlapThenPopularity() {
+        GenreIndex index = new GenreIndex();
+        index.upsertAll(List.of(
+                movie(1, 50.0, 28, 878),
+                movie(2, 10.0, 28, 878),
+                movie(3, 90.0, 28),
+                movie(4, 70.0, 878),
+                movie(5, 99.0, 35)));
+
+        int[] similar = index.similar(1, 6);
+
+        // Both genres shared beats popularity; the comedy shares nothing and is excluded
+        assertArrayEquals(new int[] { 2, 3, 4 }, similar);
+    }
+
+    @Test
+    void upsertAll_UpdatesPostingsIncrementally() {
+        GenreIndex index = new GenreIndex();
+        index.upsertAll(List.of(
+                movie(1, 50.0, 28),
+                movie(2, 10.0, 28),
+                movie(3, 20.0, 28)));
+
+        assertArrayEquals(new int[] { 3, 2 }, index.similar(1, 6));
+
+        // Title 2 becomes more popular, title 3 leaves the genre
+        index.upsertAll(List.of(
+                movie(2, 80.0, 28),
+                movie(3, 20.0, 35)));
+
+        assertArrayEquals(new int[] { 2 }, index.similar(1, 6));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void similar_UnknownTitle_ReturnsEmpty() {
+        GenreIndex index = new GenreIndex();
+
+        assertFalse(index.contains(42));
+        assertEquals(0, index.similar(42, 6).length);
+    }
+}
@@ -0,0 +1,79 @@
+package com.streamix.catalog.index;
+
+import com.streamix.catalog.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSearchIndexTest {
+
+    private static Movie movie(int tmdbId, String title, double popularity) {
+        Movie movie = new Movie();
+        movie.setTmdbId(tmdbId);
+        movie.setTitle(title);
+        movie.setPopularity(popularity);
+        return movie;
+    }
+
+    private static TitleSearchIndex index() {
+        TitleSearchIndex index = new TitleSearchIndex(false);
+        index.upsertAll(List.of(
+                movie(155, "The Dark Knight", 80.0),
+                movie(49026, "The Dark Knight Rises", 60.0),
+                movie(272, "Batman Begins", 50.0),
+                movie(414906, "The Batman", 90.0),
+                movie(194, "Amélie", 20.0)));
+        return index;
+    }
+
+    @Test
+    void search_RanksExactTitleFirst() {
+        List<Integer> hits = index().search("the dark knight", 0, 10);
+
+        assertEquals(List.of(155, 49026), hits);
+    }
+
+    @Test
+    void search_MatchesPrefixOfLastToken() {
+        assertEquals(List.of(155, 49026), index().search("Dark Kni", 0, 10));
+    }
+
+    @Test
+    void search_NormalizesCaseAndAccents() {
+        assertEquals(List.of(194), index().search("  AMELIE ", 0, 10));
+    }
+
+    @Test
+    void search_Paginates() {
+        TitleSearchIndex index = index();
+
+        List<Integer> all = index.search("batman", 0, 10);
+        assertEquals(2, all.size());
+        assertEquals(List.of(all.get(1)), index.search("batman", 1, 1));
+        assertTrue(index.search("batman", 5, 1).isEmpty());
+    }
+
+    @Test
+    void upsertAll_ReindexesChangedTitle() {
+        TitleSearchIndex index = index();
+        index.upsertAll(List.of(movie(272, "Batman Returns", 50.0)));
+
+        assertTrue(index.search("begins", 0, 10).isEmpty());
+        assertEquals(List.of(272), index.search("returns", 0, 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void search_FuzzyToleratesTypos() {
+        TitleSearchIndex index = index();
+        index.upsertAll(List.of(movie(157336, "Interstellar", 70.0)));
+
+        assertTrue(index.search("interstelar", 0, 10).isEmpty());
+        assertEquals(List.of(157336), index.search("interstelar", 0, 10, true));
+        assertEquals(List.of(155, 49026), index.search("dark knigth", 0, 10, true));
+        assertEquals(List.of(414906, 272), index.search("batmna", 0, 10, true));
+        assertTrue(index.search("dakr", 0, 10, true).isEmpty(), "short tokens are not corrected");
+    }
+}
@@ -0,0 +1,40 @@
+package com.streamix.catalog.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIndexManagerTest {
+
+    @Test
+    void reportsTheIndexOfAnIndexScan() {
+        Document plan = new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "categories_popularity"));
+
+        assertEquals("IXSCAN categories_popularity", CatalogIndexManager.planSummary(explain(plan)));
+    }
+
+    @Test
+    void detectsCollectionScansNestedUnderOtherStages() {
+        // Slot-based engine shape: winningPlan.queryPlan, and an OR with one unindexed branch
+        Document plan = new Document("queryPlan", new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "OR").append("inputStages", List.of(
+                        new Document("stage", "IXSCAN").append("indexName", "tmdbId"),
+                        new Document("stage", "COLLSCAN")))));
+
+        assertEquals("COLLSCAN", CatalogIndexManager.planSummary(explain(plan)));
+    }
+
+    @Test
+    void fallsBackToTheRootStage() {
+        assertEquals("EOF", CatalogIndexManager.planSummary(explain(new Document("stage", "EOF"))));
+        assertEquals("UNKNOWN", CatalogIndexManager.planSummary(new Document()));
+    }
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
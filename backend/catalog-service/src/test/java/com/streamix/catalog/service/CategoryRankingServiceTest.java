@@ -0,0 +1,80 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.entity.CategoryRanking;
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.event.CatalogRevision;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CategoryRankingServiceTest {
+
+    @Test
+    void top_SlicesTheStoredRanking() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findById("Popular Movies", CategoryRanking.class)).thenReturn(
+                new CategoryRanking("Popular Movies", 3, List.of(680, 13, 27205, 155), LocalDateTime.now()));
+        CategoryRankingService rankings = new CategoryRankingService(mongoTemplate, mock(CatalogRevision.class));
+
+        assertEquals(Optional.of(List.of(680, 13)), rankings.top("Popular Movies", 2));
+        assertEquals(Optional.of(List.of(680, 13, 27205, 155)), rankings.top("Popular Movies", 0));
+        assertEquals(Optional.of(List.of(680, 13, 27205, 155)), rankings.top("Popular Movies", 50));
+        assertEquals(Optional.empty(), rankings.top("Trending Movies", 20));
+        // Mirrored in memory after the first read
+        verify(mongoTemplate, times(1)).findById("Popular Movies", CategoryRanking.class);
+    }
+
+    @Test
+    void record_ServesTheNewRankingAndAdvancesTheRevision() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        CatalogRevision revision = mock(CatalogRevision.class);
+        CategoryRankingService rankings = new CategoryRankingService(mongoTemplate, revision);
+
+        assertTrue(rankings.record("Top Rated TV", 4, List.of(1396, 1399, 1396, 60059)));
+
+        assertEquals(Optional.of(List.of(1396, 1399, 60059)), rankings.top("Top Rated TV", 0), "duplicates dropped");
+        verify(revision).advance();
+        verify(mongoTemplate, never()).findById(any(), any());
+    }
+
+    @Test
+    void record_IgnoresARankingForAnOlderGeneration() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        // The conditional upsert misses the newer stored document and collides on its _id
+        when(mongoTemplate.findAndModify(any(), any(), any(), eq(CategoryRanking.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        when(mongoTemplate.findById("Top Rated TV", CategoryRanking.class)).thenReturn(
+                new CategoryRanking("Top Rated TV", 5, List.of(60059, 1396), LocalDateTime.now()));
+        CatalogRevision revision = mock(CatalogRevision.class);
+        CategoryRankingService rankings = new CategoryRankingService(mongoTemplate, revision);
+
+        assertFalse(rankings.record("Top Rated TV", 4, List.of(1396, 1399)));
+
+        assertEquals(Optional.of(List.of(60059, 1396)), rankings.top("Top Rated TV", 0));
+        verify(revision, never()).advance();
+    }
+
+    @Test
+    void inRankOrder_RestoresRankOrderAndSkipsMissingTitles() {
+        // As returned by a tmdbId $in lookup: natural order, one ranked title gone
+        List<Movie> loaded = List.of(movie(155), movie(27205), movie(680));
+
+        List<Movie> ordered = CategoryRankingService.inRankOrder(List.of(680, 13, 27205, 155), loaded);
+
+        assertEquals(List.of(680, 27205, 155), ordered.stream().map(Movie::getTmdbId).toList());
+    }
+
+    private static Movie movie(int tmdbId) {
+        Movie movie = new Movie();
+        movie.setTmdbId(tmdbId);
+        return movie;
+    }
+}
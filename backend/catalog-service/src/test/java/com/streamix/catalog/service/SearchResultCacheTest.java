@@ -0,0 +1,103 @@
+package com.streamix.catalog.service;
+
+import com.streamix.catalog.entity.Movie;
+import com.streamix.catalog.event.CatalogUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private static Movie movie(int tmdbId, String title) {
+        Movie movie = new Movie();
+        movie.setTmdbId(tmdbId);
+        movie.setTitle(title);
+        return movie;
+    }
+
+    @Test
+    void get_SharesEntryAcrossNormalizedQueries() {
+        SearchResultCache cache = new SearchResultCache(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (String query : List.of("batman", "Batman ", "BATMAN")) {
+            cache.get("movie", query, 0, 20, () -> {
+                loads.incrementAndGet();
+                return List.of(272);
+            });
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.stats().hits());
+    }
+
+    @Test
+    void onCatalogUpdated_DropsOnlyMatchingEntries() {
+        SearchResultCache cache = new SearchResultCache(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        cache.get("movie", "dark kni", 0, 20, List::of);
+        cache.get("movie", "amelie", 0, 20, List::of);
+
+        cache.onCatalogUpdated(new CatalogUpdatedEvent("movie", List.of(movie(155, "The Dark Knight"))));
+
+        assertEquals(1, cache.stats().invalidations());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("movie", "dark kni", 0, 20, () -> {
+            loads.incrementAndGet();
+            return List.of(155);
+        });
+        cache.get("movie", "amelie", 0, 20, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(1, loads.get(), "negative entry for an unrelated query is kept");
+        assertEquals(1, cache.stats().negativeHits());
+    }
+
+    @Test
+    void invalidateQuery_DropsEveryPageOfThatQuery() {
+        SearchResultCache cache = new SearchResultCache(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        cache.get("movie", "batmn", 0, 20, List::of);
+        cache.get("movie", "batmn", 1, 20, List::of);
+        cache.get("tv", "batmn", 0, 20, List::of);
+
+        // Enrichment wrote "Batman", which the title-word match would not tie to "batmn"
+        cache.onCatalogUpdated(new CatalogUpdatedEvent("movie", List.of(movie(268, "Batman"))));
+        assertEquals(0, cache.stats().invalidations());
+
+        cache.invalidateQuery("movie", "Batmn ");
+        assertEquals(2, cache.stats().invalidations());
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("movie", "batmn", 0, 20, () -> {
+            loads.incrementAndGet();
+            return List.of(268);
+        });
+        cache.get("tv", "batmn", 0, 20, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(1, loads.get(), "other types keep their entries");
+    }
+
+    @Test
+    void invalidateQuery_DuringLoadKeepsTheLoadOutOfTheCache() {
+        SearchResultCache cache = new SearchResultCache(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+
+        // Enrichment for the query finishes while its short local result is being computed
+        cache.get("movie", "star wars 4", 0, 20, () -> {
+            cache.invalidateQuery("movie", "star wars 4");
+            return List.of();
+        });
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("movie", "star wars 4", 0, 20, () -> {
+            loads.incrementAndGet();
+            return List.of(11);
+        });
+        assertEquals(1, loads.get());
+    }
+}
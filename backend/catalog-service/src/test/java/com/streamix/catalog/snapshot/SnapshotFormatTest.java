@@ -0,0 +1,83 @@
+package com.streamix.catalog.snapshot;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsSectionsAndDocuments() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        try (SnapshotWriter writer = new SnapshotWriter(file, createdAt)) {
+            writer.beginSection("movies");
+            writer.write(raw(27205, "Inception"));
+            writer.write(raw(155, "The Dark Knight"));
+            writer.beginSection("tv_shows"); // Implicitly ends the previous section
+            writer.beginSection("genres");
+            writer.write(raw(28, "Action"));
+        }
+
+        SnapshotReader reader = new SnapshotReader(file);
+        assertEquals(createdAt, reader.createdAt());
+
+        assertEquals("movies", reader.nextSection());
+        assertEquals("Inception", reader.nextDocument().getString("title").getValue());
+        assertEquals(155, reader.nextDocument().getInt32("tmdbId").getValue());
+        assertNull(reader.nextDocument());
+
+        assertEquals("tv_shows", reader.nextSection());
+        assertNull(reader.nextDocument());
+
+        assertEquals("genres", reader.nextSection());
+        assertEquals("Action", reader.nextDocument().getString("title").getValue());
+        assertNull(reader.nextDocument());
+
+        assertNull(reader.nextSection());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        Path file = dir.resolve("not-a-snapshot");
+        Files.writeString(file, "{\"movies\": []}");
+
+        assertThrows(IOException.class, () -> new SnapshotReader(file));
+    }
+
+    @Test
+    void rejectsTruncatedSnapshots() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        try (SnapshotWriter writer = new SnapshotWriter(file, Instant.now())) {
+            writer.beginSection("movies");
+            writer.write(raw(27205, "Inception"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+
+        SnapshotReader reader = new SnapshotReader(file);
+        assertEquals("movies", reader.nextSection());
+        assertThrows(IOException.class, reader::nextDocument);
+    }
+
+    private static RawBsonDocument raw(int tmdbId, String title) {
+        BsonDocument document = new BsonDocument("tmdbId", new BsonInt32(tmdbId)).append("title", new BsonString(title));
+        return new RawBsonDocument(document, new BsonDocumentCodec());
+    }
+}
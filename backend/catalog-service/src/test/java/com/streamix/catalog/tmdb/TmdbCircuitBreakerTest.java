@@ -0,0 +1,62 @@
+package com.streamix.catalog.tmdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbCircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(3, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess(); // A success resets the run
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(TmdbCircuitBreaker.State.OPEN, breaker.stats().state());
+        assertEquals(1, breaker.stats().rejected());
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnSuccess() throws InterruptedException {
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(1, Duration.ofMillis(20));
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquire()); // The probe
+        assertFalse(breaker.tryAcquire()); // Everyone else waits for its outcome
+
+        breaker.onSuccess();
+        assertEquals(TmdbCircuitBreaker.State.CLOSED, breaker.stats().state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensCircuit() throws InterruptedException {
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(1, Duration.ofMillis(20));
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        Thread.sleep(40);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertTrue(breaker.isOpen());
+        assertEquals(2, breaker.stats().opened());
+    }
+}
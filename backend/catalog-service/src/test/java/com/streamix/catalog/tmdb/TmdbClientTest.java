@@ -0,0 +1,152 @@
+package com.streamix.catalog.tmdb;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbClientTest {
+
+    @Test
+    void get_CoalescesIdenticalConcurrentRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger httpCalls = new AtomicInteger();
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T getForObject(URI url, Class<T> responseType) {
+                httpCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return responseType.cast("credits");
+            }
+        };
+        TmdbClient client = client(restTemplate, new SimpleMeterRegistry());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> client.get("/movie/{id}/credits", String.class, 1)));
+            }
+
+            // Let every caller attach to the in-flight call before it completes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.stats().coalesced() < 7 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("credits", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, httpCalls.get());
+        assertEquals(7, client.stats().coalesced());
+    }
+
+    @Test
+    void get_DoesNotCoalesceRequestsForDifferentTypes() throws Exception {
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        AtomicInteger httpCalls = new AtomicInteger();
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T getForObject(URI url, Class<T> responseType) {
+                httpCalls.incrementAndGet();
+                bothInFlight.countDown();
+                try {
+                    bothInFlight.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return responseType.cast(responseType == Map.class ? Map.of("name", "Dark") : "Dark");
+            }
+        };
+        TmdbClient client = client(restTemplate, new SimpleMeterRegistry());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Same URI, fetched as a typed DTO by one caller and as raw JSON by the other
+            Future<String> typed = executor.submit(() -> client.get("/tv/{id}", String.class, 70523));
+            Future<Map> raw = executor.submit(() -> client.get("/tv/{id}", Map.class, 70523));
+
+            assertEquals("Dark", typed.get(10, TimeUnit.SECONDS));
+            assertEquals(Map.of("name", "Dark"), raw.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, httpCalls.get());
+        assertEquals(0, client.stats().coalesced());
+    }
+
+    @Test
+    void get_RetriesTooManyRequestsAfterRetryAfter() {
+        AtomicInteger httpCalls = new AtomicInteger();
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T getForObject(URI url, Class<T> responseType) {
+                if (httpCalls.incrementAndGet() == 1) {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.set(HttpHeaders.RETRY_AFTER, "0");
+                    throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                            headers, null, null);
+                }
+                assertTrue(url.getQuery().contains("query=the office"));
+                return responseType.cast("results");
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TmdbClient client = client(restTemplate, registry);
+
+        assertEquals("results", client.get("/search/tv", Map.of("query", "the office"), String.class));
+        assertEquals(2, httpCalls.get());
+        assertEquals(1, client.stats().retries());
+        assertEquals(1, registry.get("tmdb.client.requests").tags("endpoint", "/search/tv", "outcome", "429")
+                .timer().count());
+    }
+
+    @Test
+    void get_DoesNotRetryClientErrors() {
+        AtomicInteger httpCalls = new AtomicInteger();
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T getForObject(URI url, Class<T> responseType) {
+                httpCalls.incrementAndGet();
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null,
+                        null);
+            }
+        };
+        TmdbClient client = client(restTemplate, new SimpleMeterRegistry());
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> client.get("/tv/{id}", Object.class, 1));
+        assertEquals(1, httpCalls.get());
+    }
+
+    private static TmdbClient client(RestTemplate restTemplate, SimpleMeterRegistry registry) {
+        return new TmdbClient(restTemplate, new TmdbRateLimiter(1000, 100),
+                new TmdbCircuitBreaker(5, Duration.ofSeconds(30)), registry, "https://tmdb.test/3", "key", 2,
+                Duration.ofMillis(1), Duration.ofSeconds(1));
+    }
+}
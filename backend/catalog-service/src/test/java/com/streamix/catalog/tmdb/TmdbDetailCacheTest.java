@@ -0,0 +1,67 @@
+package com.streamix.catalog.tmdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbDetailCacheTest {
+
+    private static TmdbDetailCache cache(long maxBytes, Duration ttl) {
+        return new TmdbDetailCache(maxBytes, ttl, ttl, ttl, ttl, ttl, ttl);
+    }
+
+    @Test
+    void get_LoadsOnceThenHits() {
+        TmdbDetailCache cache = cache(1 << 20, Duration.ofHours(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Map.of("id", 1), cache.get(TmdbDetailCache.Resource.VIDEOS, "movie:1", () -> {
+                loads.incrementAndGet();
+                return Map.of("id", 1);
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void get_DoesNotCacheNullAndReloadsExpired() {
+        TmdbDetailCache cache = cache(1 << 20, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get(TmdbDetailCache.Resource.CAST, "movie:1", () -> null));
+        cache.get(TmdbDetailCache.Resource.CAST, "movie:2", loads::incrementAndGet);
+        cache.get(TmdbDetailCache.Resource.CAST, "movie:2", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedWhenOverBudget() {
+        String payload = "x".repeat(400);
+        long entryBytes = TmdbDetailCache.estimateBytes(payload) + 2L * "IMAGES:movie:1".length();
+        TmdbDetailCache cache = cache(entryBytes * 2, Duration.ofHours(1));
+
+        cache.get(TmdbDetailCache.Resource.IMAGES, "movie:1", () -> payload);
+        cache.get(TmdbDetailCache.Resource.IMAGES, "movie:2", () -> payload);
+        cache.get(TmdbDetailCache.Resource.IMAGES, "movie:1", () -> payload); // touch 1
+        cache.get(TmdbDetailCache.Resource.IMAGES, "movie:3", () -> payload);
+
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().entries());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(TmdbDetailCache.Resource.IMAGES, "movie:1", () -> {
+            loads.incrementAndGet();
+            return payload;
+        });
+        assertEquals(0, loads.get(), "recently used entry survives eviction");
+    }
+}
@@ -54,28 +54,26 @@ const Dashboard = () => {
     const fetchData = async () => {
       setLoading(true);
       try {
+        // All catalog rows and genres come from one precomputed home feed
         const [
-          trendingMovies,
-          popularMovies,
-          topRatedMovies,
-          trendingTV,
-          popularTV,
-          topRatedTV,
+          homeFeed,
           watchlistData,
-          historyData,
-          genresData
+          historyData
         ] = await Promise.all([
-          movieService.getTrendingMovies(),
-          movieService.getPopularMovies(),
-          movieService.getTopRatedMovies(),
-          movieService.getTrendingTVShows(),
-          movieService.getPopularTVShows(),
-          movieService.getTopRatedTVShows(),
+          movieService.getHomeFeed(),
           currentUser.id ? interactionService.getWatchlist(currentUser.id) : Promise.resolve([]),
-          currentUser.id ? interactionService.getHistory(currentUser.id) : Promise.resolve([]),
-          movieService.getGenres()
+          currentUser.id ? interactionService.getHistory(currentUser.id) : Promise.resolve([])
         ]);
 
+        const rows = homeFeed.rows || {};
+        const trendingMovies = rows.trendingMovies || [];
+        const popularMovies = rows.popularMovies || [];
+        const topRatedMovies = rows.topRatedMovies || [];
+        const trendingTV = rows.trendingTV || [];
+        const popularTV = rows.popularTV || [];
+        const topRatedTV = rows.topRatedTV || [];
+        const genresData = homeFeed.genres || [];
+
         console.log("DEBUG: Dashboard history fetched:", historyData);
 
         const allGenres = genresData.genres || genresData || [];
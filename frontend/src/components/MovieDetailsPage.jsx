@@ -111,30 +111,34 @@ const MovieDetailsPage = () => {
 
                 // A. Fetch Main Details
                 let movieData;
+                let fullDetails = null;
                 if (isTV) {
                     movieData = await movieService.getTVShowById(id);
-                    // Fetch full TV details from proxy for seasons/episodes
-                    if (movieData && movieData.tmdbId) {
-                        try {
-                            const details = await movieService.getTVShowDetailsFromProxy(movieData.tmdbId);
-                            setTvDetails(details);
-                        } catch (e) { console.warn("Proxy details fetch failed", e); }
-                    }
                 } else {
                     movieData = await movieService.getMovieById(id);
                 }
 
+                // Details (seasons/episodes for TV), cast, images and videos in one call
+                if (movieData && movieData.tmdbId) {
+                    try {
+                        fullDetails = await movieService.getTitleDetails(movieData.tmdbId, isTV);
+                        if (isTV) setTvDetails(fullDetails.details);
+                    } catch (e) { console.warn("Full details fetch failed", e); }
+                }
+
                 setMovie(movieData);
 
                 // B. Fetch Cast & Similar
                 if (movieData && movieData.tmdbId) {
                     const tmdbId = movieData.tmdbId;
 
-                    // Cast
+                    // Cast (from the composite response, falling back to the cast endpoint)
                     try {
-                        const castData = isTV
-                            ? await movieService.getTVShowCast(tmdbId)
-                            : await movieService.getMovieCast(tmdbId);
+                        const castData = fullDetails && fullDetails.cast
+                            ? fullDetails.cast
+                            : isTV
+                                ? await movieService.getTVShowCast(tmdbId)
+                                : await movieService.getMovieCast(tmdbId);
                         setCast(castData || []);
                     } catch (e) { console.warn("Cast fetch failed", e); }
 
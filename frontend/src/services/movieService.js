@@ -59,6 +59,12 @@ const movieService = {
         return response.data;
     },
 
+    // Typeahead suggestions across movies and TV shows (top N by popularity)
+    autocomplete: async (query, limit = 8) => {
+        const response = await api.get('/autocomplete', { params: { query, limit } });
+        return response.data;
+    },
+
     // Search TV Shows (DB + TMDB fallback)
     searchTVShows: async (query) => {
         const token = localStorage.getItem('token') || sessionStorage.getItem('token');
@@ -104,6 +110,17 @@ const movieService = {
         return response.data;
     },
 
+    // Details, cast, images and videos in one request (one TMDB call upstream at most)
+    getTitleDetails: async (tmdbId, isTV = false, season = null) => {
+        const token = localStorage.getItem('token') || sessionStorage.getItem('token');
+        const path = isTV ? `/tv/tmdb/${tmdbId}/full` : `/movie/${tmdbId}/full`;
+        const response = await axios.get(`${process.env.REACT_APP_API_BASE_URL}${path}`, {
+            headers: { Authorization: `Bearer ${token}` },
+            params: season != null ? { season } : {}
+        });
+        return response.data;
+    },
+
     // NEW: Get movie videos
     getMovieVideos: async (tmdbId) => {
         const response = await api.get(`/${tmdbId}/videos`);
@@ -116,6 +133,15 @@ const movieService = {
         return response.data;
     },
 
+    // Get every dashboard row plus genres in one request (materialized by the catalog service)
+    getHomeFeed: async () => {
+        const token = localStorage.getItem('token') || sessionStorage.getItem('token');
+        const response = await axios.get(`${process.env.REACT_APP_API_BASE_URL}/catalog/home`, {
+            headers: { Authorization: `Bearer ${token}` }
+        });
+        return response.data;
+    },
+
     // NEW: Get all TV shows (use axios directly to avoid /movie prefix)
     getAllTVShows: async () => {
         const token = localStorage.getItem('token') || sessionStorage.getItem('token');